@@ -0,0 +1,206 @@
+package com.cyg.rl.module.core.board;
+
+import lombok.Getter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * =================================================================================================================
+ * Tables précalculées de la géométrie d'un plateau, partagées par tous les plateaux de mêmes dimensions.
+ * Les cases sont désignées par leur index y * width + x. Pour chaque case et chaque direction, la table des
+ * voisins donne l'index de la case adjacente (-1 hors du plateau) et la table de portée le nombre de cases
+ * disponibles avant le bord : les k cases suivantes dans une direction sont index + i * step(direction) pour
+ * i = 1..min(k, reach), sans autre test de bornes ; c'est ainsi que run() mesure les alignements pour le moteur
+ * de résolution et la recherche de coups.
+ * Toutes les tables sont des int[] plats, calculés une fois par couple (largeur, hauteur) et jamais modifiés.
+ * Seules les MAX_CACHED premières tailles rencontrées sont partagées : au-delà (tailles lues depuis un client,
+ * fenêtres arbitraires...), chaque appel calcule une géométrie propre, libérée avec ses plateaux.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public final class BoardGeometry {
+
+    // Constantes publiques
+    public static final int                         LEFT = 0;
+    public static final int                         UP = 1;
+    public static final int                         RIGHT = 2;
+    public static final int                         DOWN = 3;
+    public static final int                         DIRECTIONS = 4;
+    public static final int                         LINE_LENGTH = 3;
+    public static final int                         MAX_CACHED = 64;
+
+    // Membres statiques internes
+    private static final ConcurrentMap<Long, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final int[]                             xs;
+    private final int[]                             ys;
+    private final int[]                             steps;
+    private final int[]                             neighbors;
+    private final int[]                             reaches;
+
+    /**
+     * Constructeur
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    private BoardGeometry(int width, int height) {
+        int size = width * height;
+        this.width = width;
+        this.height = height;
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.steps = new int[] { -1, -width, 1, width };
+        this.neighbors = new int[size * DIRECTIONS];
+        this.reaches = new int[size * DIRECTIONS];
+        for (int y = 0, index = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, index++) {
+                this.xs[index] = x;
+                this.ys[index] = y;
+                int base = index * DIRECTIONS;
+                this.reaches[base + LEFT] = x;
+                this.reaches[base + UP] = y;
+                this.reaches[base + RIGHT] = width - 1 - x;
+                this.reaches[base + DOWN] = height - 1 - y;
+                for (int direction = 0; direction < DIRECTIONS; direction++) {
+                    this.neighbors[base + direction] = this.reaches[base + direction] > 0 ? index + this.steps[direction] : -1;
+                }
+            }
+        }
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Retourne la géométrie partagée des plateaux d'une taille (une géométrie propre si MAX_CACHED tailles sont
+     * déjà partagées)
+     * @param width Largeur
+     * @param height Hauteur
+     * @return BoardGeometry
+     * @since 0.0.1
+     */
+    public static BoardGeometry of(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Dimensions de plateau invalides : " + width + "x" + height);
+        }
+        Long key = ((long) width << 32) | height;
+        BoardGeometry geometry = CACHE.get(key);
+        if (geometry != null) {
+            return geometry;
+        }
+        if (CACHE.size() >= MAX_CACHED) {
+            return new BoardGeometry(width, height);
+        }
+        return CACHE.computeIfAbsent(key, k -> new BoardGeometry(width, height));
+    }
+
+    /**
+     * Retourne la géométrie partagée des plateaux de la taille d'un stockage
+     * @param storage Stockage
+     * @return BoardGeometry
+     * @since 0.0.1
+     */
+    public static BoardGeometry of(TileStorage storage) {
+        return of(storage.getWidth(), storage.getHeight());
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de cases
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return this.xs.length;
+    }
+
+    /**
+     * Retourne l'index d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return int
+     * @since 0.0.1
+     */
+    public int index(int x, int y) {
+        return y * this.width + x;
+    }
+
+    /**
+     * Retourne la colonne d'une case, sans division
+     * @param index Index de la case
+     * @return int
+     * @since 0.0.1
+     */
+    public int x(int index) {
+        return this.xs[index];
+    }
+
+    /**
+     * Retourne la ligne d'une case, sans division
+     * @param index Index de la case
+     * @return int
+     * @since 0.0.1
+     */
+    public int y(int index) {
+        return this.ys[index];
+    }
+
+    /**
+     * Retourne le décalage d'index d'un pas dans une direction
+     * @param direction LEFT, UP, RIGHT ou DOWN
+     * @return int
+     * @since 0.0.1
+     */
+    public int step(int direction) {
+        return this.steps[direction];
+    }
+
+    /**
+     * Retourne l'index de la case voisine dans une direction
+     * @param index Index de la case
+     * @param direction LEFT, UP, RIGHT ou DOWN
+     * @return Index du voisin, -1 hors du plateau
+     * @since 0.0.1
+     */
+    public int neighbor(int index, int direction) {
+        return this.neighbors[index * DIRECTIONS + direction];
+    }
+
+    /**
+     * Retourne le nombre de cases entre une case et le bord du plateau dans une direction
+     * @param index Index de la case
+     * @param direction LEFT, UP, RIGHT ou DOWN
+     * @return int
+     * @since 0.0.1
+     */
+    public int reach(int index, int direction) {
+        return this.reaches[index * DIRECTIONS + direction];
+    }
+
+    /**
+     * Retourne le nombre de cases consécutives d'une couleur à partir d'une case (exclue) dans une direction,
+     * bornée par la table de portée
+     * @param storage Stockage aux dimensions de la géométrie
+     * @param index Index de la case de départ
+     * @param direction LEFT, UP, RIGHT ou DOWN
+     * @param color Couleur recherchée
+     * @param stop Index d'une case qui interrompt la série (-1 si aucune)
+     * @return int
+     * @since 0.0.1
+     */
+    public int run(TileStorage storage, int index, int direction, byte color, int stop) {
+        int step = this.steps[direction];
+        int limit = this.reaches[index * DIRECTIONS + direction];
+        int count = 0;
+        for (int cell = index + step; count < limit && cell != stop && storage.get(this.xs[cell], this.ys[cell]) == color; cell += step) {
+            count++;
+        }
+        return count;
+    }
+}
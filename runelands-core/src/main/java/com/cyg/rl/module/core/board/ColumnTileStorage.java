@@ -0,0 +1,147 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.generator.TileSource;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Stockage compact d'un plateau rangé colonne par colonne : la colonne x occupe les cases x * height à
+ * (x + 1) * height - 1, du haut (y = 0) vers le bas. Les tuiles tombant dans les colonnes, le tassement d'une
+ * colonne se fait par System.arraycopy d'un bloc contigu (un seul pour un trou unique, le cas courant), et le
+ * remplissage écrit le haut de la colonne d'un seul tenant.
+ * Pour une même source, generate() produit exactement le même plateau que PackedTileStorage : les tuiles sont
+ * tirées dans l'ordre des lignes puis transposées.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ColumnTileStorage implements TileStorage {
+
+    // Membres internes
+    private final int                               width;
+    private final int                               height;
+    @Getter(AccessLevel.NONE)
+    private final byte[]                            cells;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private byte[]                                  rows;
+
+    /**
+     * Constructeur : toutes les cases sont vides
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    public ColumnTileStorage(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Dimensions de plateau invalides : " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        Arrays.fill(this.cells, EMPTY);
+    }
+
+    /**
+     * Constructeur de copie
+     * @param source Stockage à copier
+     */
+    private ColumnTileStorage(ColumnTileStorage source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.cells = source.cells.clone();
+    }
+
+    // ---------------------------------------------- TileStorage ----------------------------------------------
+    @Override
+    public byte get(int x, int y) {
+        return this.cells[x * this.height + y];
+    }
+
+    @Override
+    public void set(int x, int y, byte color) {
+        this.cells[x * this.height + y] = color;
+    }
+
+    @Override
+    public void fill(byte color) {
+        Arrays.fill(this.cells, color);
+    }
+
+    @Override
+    public void generate(TileSource source) {
+        if (this.rows == null) {
+            this.rows = new byte[this.cells.length];
+        }
+        source.fill(this.rows, 0, this.rows.length);
+        for (int y = 0, index = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++, index++) {
+                this.cells[x * this.height + y] = this.rows[index];
+            }
+        }
+    }
+
+    @Override
+    public int collapseColumn(int x) {
+        int start = x * this.height;
+        int write = start + this.height;
+        int read = write - 1;
+        while (read >= start) {
+            while (read >= start && this.cells[read] == EMPTY) {
+                read--;
+            }
+            int end = read;
+            while (read >= start && this.cells[read] != EMPTY) {
+                read--;
+            }
+            int length = end - read;
+            write -= length;
+            if (write != read + 1) {
+                System.arraycopy(this.cells, read + 1, this.cells, write, length);
+            }
+        }
+        Arrays.fill(this.cells, start, write, EMPTY);
+        return write - start;
+    }
+
+    @Override
+    public void refillColumn(int x, int count, TileSource source) {
+        int start = x * this.height;
+        source.fill(this.cells, start, count);
+        for (int low = start, high = start + count - 1; low < high; low++, high--) {
+            byte color = this.cells[low];
+            this.cells[low] = this.cells[high];
+            this.cells[high] = color;
+        }
+    }
+
+    @Override
+    public void copyFrom(TileStorage other) {
+        if (other.getWidth() != this.width || other.getHeight() != this.height) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + other.getWidth() + "x" + other.getHeight());
+        }
+        if (other instanceof ColumnTileStorage) {
+            System.arraycopy(((ColumnTileStorage) other).cells, 0, this.cells, 0, this.cells.length);
+        } else {
+            for (int x = 0, index = 0; x < this.width; x++) {
+                for (int y = 0; y < this.height; y++, index++) {
+                    this.cells[index] = other.get(x, y);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ColumnTileStorage copy() {
+        return new ColumnTileStorage(this);
+    }
+}
@@ -0,0 +1,149 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.generator.TileSource;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Stockage compact d'un plateau : les ordinaux de couleur sont rangés ligne par ligne dans un unique tableau d'octets.
+ * Une case coûte un octet, contre un objet Tile et sa référence dans un Tile[][].
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class PackedTileStorage implements TileStorage {
+
+    // Membres internes
+    private final int                               width;
+    private final int                               height;
+    @Getter(AccessLevel.NONE)
+    private final byte[]                            cells;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private byte[]                                  column;
+
+    /**
+     * Constructeur : toutes les cases sont vides
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    public PackedTileStorage(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Dimensions de plateau invalides : " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        Arrays.fill(this.cells, EMPTY);
+    }
+
+    /**
+     * Constructeur de copie
+     * @param source Stockage à copier
+     */
+    private PackedTileStorage(PackedTileStorage source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.cells = source.cells.clone();
+    }
+
+    // ---------------------------------------------- TileStorage ----------------------------------------------
+    @Override
+    public byte get(int x, int y) {
+        return this.cells[y * this.width + x];
+    }
+
+    @Override
+    public void set(int x, int y, byte color) {
+        this.cells[y * this.width + x] = color;
+    }
+
+    @Override
+    public void fill(byte color) {
+        Arrays.fill(this.cells, color);
+    }
+
+    @Override
+    public void generate(TileSource source) {
+        source.fill(this.cells, 0, this.cells.length);
+    }
+
+    @Override
+    public int collapseColumn(int x) {
+        int write = (this.height - 1) * this.width + x;
+        for (int read = write; read >= 0; read -= this.width) {
+            byte color = this.cells[read];
+            if (color != EMPTY) {
+                this.cells[write] = color;
+                write -= this.width;
+            }
+        }
+        for (int index = write; index >= 0; index -= this.width) {
+            this.cells[index] = EMPTY;
+        }
+        return write >= 0 ? write / this.width + 1 : 0;
+    }
+
+    @Override
+    public void refillColumn(int x, int count, TileSource source) {
+        if (this.column == null) {
+            this.column = new byte[this.height];
+        }
+        source.fill(this.column, 0, count);
+        for (int i = 0, index = (count - 1) * this.width + x; i < count; i++, index -= this.width) {
+            this.cells[index] = this.column[i];
+        }
+    }
+
+    @Override
+    public void copyFrom(TileStorage other) {
+        if (other.getWidth() != this.width || other.getHeight() != this.height) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + other.getWidth() + "x" + other.getHeight());
+        }
+        if (other instanceof PackedTileStorage) {
+            System.arraycopy(((PackedTileStorage) other).cells, 0, this.cells, 0, this.cells.length);
+        } else {
+            for (int y = 0, index = 0; y < this.height; y++) {
+                for (int x = 0; x < this.width; x++, index++) {
+                    this.cells[index] = other.get(x, y);
+                }
+            }
+        }
+    }
+
+    @Override
+    public PackedTileStorage copy() {
+        return new PackedTileStorage(this);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne l'ordinal de la couleur d'une case à partir de son index (y * width + x)
+     * @param index Index de la case
+     * @return Ordinal de TileColor ou EMPTY
+     * @since 0.0.1
+     */
+    public byte get(int index) {
+        return this.cells[index];
+    }
+
+    /**
+     * Positionne l'ordinal de la couleur d'une case à partir de son index (y * width + x)
+     * @param index Index de la case
+     * @param color Ordinal de TileColor ou EMPTY
+     * @since 0.0.1
+     */
+    public void set(int index, byte color) {
+        this.cells[index] = color;
+    }
+}
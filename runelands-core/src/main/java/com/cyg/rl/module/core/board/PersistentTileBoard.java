@@ -0,0 +1,274 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileColor;
+import io.vavr.collection.Vector;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Version immuable et persistante d'un plateau, à la manière des collections vavr : chaque modification retourne
+ * une nouvelle version qui partage avec la précédente toutes les lignes non modifiées. Les lignes sont des
+ * tableaux d'octets jamais modifiés après publication, rangés dans un Vector vavr ; créer une branche coûte donc
+ * une copie par ligne modifiée, et non une copie du plateau entier.
+ * Le hash de Zobrist de chaque version est maintenu incrémentalement, avec les mêmes clés que TileBoard.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public final class PersistentTileBoard {
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final Vector<byte[]>                    rows;
+    @Getter
+    private final long                              hash;
+
+    /**
+     * Constructeur
+     * @param width Largeur
+     * @param height Hauteur
+     * @param rows Lignes
+     * @param hash Hash de Zobrist
+     */
+    private PersistentTileBoard(int width, int height, Vector<byte[]> rows, long hash) {
+        this.width = width;
+        this.height = height;
+        this.rows = rows;
+        this.hash = hash;
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée une version vide : toutes les lignes partagent le même tableau de cases vides
+     * @param width Largeur
+     * @param height Hauteur
+     * @return PersistentTileBoard
+     * @since 0.0.1
+     */
+    public static PersistentTileBoard empty(int width, int height) {
+        byte[] row = new byte[width];
+        Arrays.fill(row, TileStorage.EMPTY);
+        return new PersistentTileBoard(width, height, Vector.fill(height, () -> row), 0L);
+    }
+
+    /**
+     * Crée une version à partir du contenu d'un plateau
+     * @param board Plateau
+     * @return PersistentTileBoard
+     * @since 0.0.1
+     */
+    public static PersistentTileBoard ofAll(TileBoard board) {
+        int width = board.getWidth();
+        return new PersistentTileBoard(width, board.getHeight(),
+                Vector.tabulate(board.getHeight(), y -> readRow(board, y, new byte[width])), board.getHash());
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public byte get(int x, int y) {
+        return this.rows.get(y)[x];
+    }
+
+    /**
+     * Retourne la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return TileColor ou null pour une case vide
+     * @since 0.0.1
+     */
+    public TileColor getColor(int x, int y) {
+        return TileColor.of(this.get(x, y));
+    }
+
+    /**
+     * Retourne une version dont une case a changé de couleur
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @return La nouvelle version (this si la case a déjà cette couleur)
+     * @since 0.0.1
+     */
+    public PersistentTileBoard update(int x, int y, byte color) {
+        byte[] row = this.rows.get(y);
+        byte old = row[x];
+        if (old == color) {
+            return this;
+        }
+        byte[] updated = row.clone();
+        updated[x] = color;
+        int index = y * this.width + x;
+        return new PersistentTileBoard(this.width, this.height, this.rows.update(y, updated),
+                this.hash ^ Zobrist.key(index, old) ^ Zobrist.key(index, color));
+    }
+
+    /**
+     * Retourne une version dont une case a changé de couleur
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Couleur (null pour une case vide)
+     * @return La nouvelle version
+     * @since 0.0.1
+     */
+    public PersistentTileBoard update(int x, int y, TileColor color) {
+        return this.update(x, y, color != null ? (byte) color.ordinal() : TileStorage.EMPTY);
+    }
+
+    /**
+     * Retourne une version dont deux cases ont été échangées
+     * @param x1 Colonne de la première case
+     * @param y1 Ligne de la première case
+     * @param x2 Colonne de la seconde case
+     * @param y2 Ligne de la seconde case
+     * @return La nouvelle version
+     * @since 0.0.1
+     */
+    public PersistentTileBoard swap(int x1, int y1, int x2, int y2) {
+        byte first = this.get(x1, y1);
+        return this.update(x1, y1, this.get(x2, y2)).update(x2, y2, first);
+    }
+
+    /**
+     * Retourne une version ayant le contenu d'un plateau (typiquement, après la résolution d'un coup sur une copie
+     * mutable de cette version). Les lignes identiques à celles de cette version sont partagées.
+     * @param board Plateau de mêmes dimensions
+     * @return La nouvelle version (this si aucune ligne n'a changé)
+     * @since 0.0.1
+     */
+    public PersistentTileBoard with(TileBoard board) {
+        if (board.getWidth() != this.width || board.getHeight() != this.height) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + board.getWidth() + "x" + board.getHeight());
+        }
+        if (board.getHash() == this.hash && this.sameRows(board)) {
+            return this;
+        }
+        Vector<byte[]> result = this.rows;
+        byte[] scratch = new byte[this.width];
+        for (int y = 0; y < this.height; y++) {
+            if (!Arrays.equals(readRow(board, y, scratch), this.rows.get(y))) {
+                result = result.update(y, scratch);
+                scratch = new byte[this.width];
+            }
+        }
+        return new PersistentTileBoard(this.width, this.height, result, board.getHash());
+    }
+
+    /**
+     * Recopie le contenu de cette version dans un plateau mutable de mêmes dimensions
+     * @param board Plateau cible
+     * @return Le plateau cible
+     * @since 0.0.1
+     */
+    public TileBoard copyTo(TileBoard board) {
+        for (int y = 0; y < this.height; y++) {
+            byte[] row = this.rows.get(y);
+            for (int x = 0; x < this.width; x++) {
+                board.set(x, y, row[x]);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Crée un plateau mutable ayant le contenu de cette version
+     * @param generator Générateur du plateau
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard toTileBoard(TileGenerator generator) {
+        return this.copyTo(TileBoard.of(generator, new PackedTileStorage(this.width, this.height)));
+    }
+
+    /**
+     * Retourne le nombre de lignes partagées (même tableau) avec une autre version
+     * @param other Autre version
+     * @return int
+     * @since 0.0.1
+     */
+    public int sharedRows(PersistentTileBoard other) {
+        int result = 0;
+        for (int y = 0; y < Math.min(this.height, other.height); y++) {
+            if (this.rows.get(y) == other.rows.get(y)) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    // ---------------------------------------------- Object ----------------------------------------------
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof PersistentTileBoard)) {
+            return false;
+        }
+        PersistentTileBoard other = (PersistentTileBoard) o;
+        if (other.hash != this.hash || other.width != this.width || other.height != this.height) {
+            return false;
+        }
+        for (int y = 0; y < this.height; y++) {
+            if (!Arrays.equals(this.rows.get(y), other.rows.get(y))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.hash);
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentTileBoard(width=" + this.width + ", height=" + this.height + ", hash=" + this.hash + ")";
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Indique si toutes les lignes d'un plateau sont identiques à celles de cette version
+     * @param board Plateau
+     * @return boolean
+     */
+    private boolean sameRows(TileBoard board) {
+        for (int y = 0; y < this.height; y++) {
+            byte[] row = this.rows.get(y);
+            for (int x = 0; x < this.width; x++) {
+                if (board.get(x, y) != row[x]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Lit une ligne d'un plateau
+     * @param board Plateau
+     * @param y Ligne
+     * @param target Tableau cible
+     * @return Le tableau cible
+     */
+    private static byte[] readRow(TileBoard board, int y, byte[] target) {
+        for (int x = 0; x < target.length; x++) {
+            target[x] = board.get(x, y);
+        }
+        return target;
+    }
+}
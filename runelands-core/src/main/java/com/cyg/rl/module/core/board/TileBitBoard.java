@@ -0,0 +1,429 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.TileColor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Représentation d'un plateau sous forme d'un masque de bits par couleur (bitboards).
+ * La case (x, y) correspond au bit d'index y * width + x. La détection des alignements se fait par décalages et
+ * ET logiques sur des mots de 64 bits, sans parcourir les cases une à une.
+ * Les tableaux de travail sont alloués une fois pour toutes : une instance n'est pas thread-safe.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBitBoard {
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final int                               words;
+    private final long[][]                          colors;
+    private final long[]                            shifted;
+    private final long[]                            starts;
+    private final long[]                            previous;
+    private final long[]                            notFirstColumn;
+    private long[]                                  rowStartMask;
+    private int                                     rowStartLength;
+
+    /**
+     * Constructeur : toutes les cases sont vides
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    public TileBitBoard(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.words = (width * height + 63) >>> 6;
+        this.colors = new long[TileColor.count()][this.words];
+        this.shifted = new long[this.words];
+        this.starts = new long[this.words];
+        this.previous = new long[this.words];
+        this.notFirstColumn = this.columnMask(1, width - 1);
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée les bitboards correspondant à un plateau
+     * @param board Plateau
+     * @return TileBitBoard
+     * @since 0.0.1
+     */
+    public static TileBitBoard of(TileBoard board) {
+        TileBitBoard result = new TileBitBoard(board.getWidth(), board.getHeight());
+        result.load(board.getStorage());
+        return result;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Recharge les bitboards à partir d'un stockage de mêmes dimensions
+     * @param storage Stockage
+     * @since 0.0.1
+     */
+    public void load(TileStorage storage) {
+        if (storage.getWidth() != this.width || storage.getHeight() != this.height) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + storage.getWidth() + "x" + storage.getHeight());
+        }
+        for (long[] bits : this.colors) {
+            Arrays.fill(bits, 0L);
+        }
+        int index = 0;
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++, index++) {
+                byte color = storage.get(x, y);
+                if (color != TileStorage.EMPTY) {
+                    this.colors[color][index >>> 6] |= 1L << index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public byte get(int x, int y) {
+        int index = y * this.width + x;
+        for (int color = 0; color < this.colors.length; color++) {
+            if ((this.colors[color][index >>> 6] & (1L << index)) != 0) {
+                return (byte) color;
+            }
+        }
+        return TileStorage.EMPTY;
+    }
+
+    /**
+     * Positionne la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public void set(int x, int y, byte color) {
+        int index = y * this.width + x;
+        int word = index >>> 6;
+        long bit = 1L << index;
+        for (long[] bits : this.colors) {
+            bits[word] &= ~bit;
+        }
+        if (color != TileStorage.EMPTY) {
+            this.colors[color][word] |= bit;
+        }
+    }
+
+    /**
+     * Retourne le nombre de cases d'une couleur
+     * @param color Couleur
+     * @return int
+     * @since 0.0.1
+     */
+    public int count(TileColor color) {
+        int result = 0;
+        for (long word : this.colors[color.ordinal()]) {
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * Calcule le masque de toutes les cases appartenant à un alignement horizontal ou vertical d'au moins
+     * minLength tuiles de même couleur
+     * @param minLength Longueur minimale d'un alignement (au moins 2)
+     * @param result Masque résultat, de taille getWordCount()
+     * @return Vrai si au moins un alignement a été trouvé
+     * @since 0.0.1
+     */
+    public boolean findMatches(int minLength, long[] result) {
+        this.checkMinLength(minLength);
+        Arrays.fill(result, 0L);
+        boolean found = false;
+        long[] rowMask = this.rowStartMask(minLength);
+        for (long[] bits : this.colors) {
+            if (this.runStarts(bits, minLength, 1, rowMask)) {
+                this.spread(minLength, 1, result);
+                found = true;
+            }
+            if (this.runStarts(bits, minLength, this.width, null)) {
+                this.spread(minLength, this.width, result);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Indique si le plateau contient au moins un alignement d'au moins minLength tuiles
+     * @param minLength Longueur minimale d'un alignement (au moins 2)
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean hasMatch(int minLength) {
+        this.checkMinLength(minLength);
+        long[] rowMask = this.rowStartMask(minLength);
+        for (long[] bits : this.colors) {
+            if (this.runStarts(bits, minLength, 1, rowMask) || this.runStarts(bits, minLength, this.width, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parcourt tous les alignements maximaux d'au moins minLength tuiles de même couleur
+     * @param minLength Longueur minimale d'un alignement (au moins 2)
+     * @param consumer Consommateur des alignements
+     * @return Nombre d'alignements trouvés
+     * @since 0.0.1
+     */
+    public int forEachRun(int minLength, RunConsumer consumer) {
+        this.checkMinLength(minLength);
+        int result = 0;
+        long[] rowMask = this.rowStartMask(minLength);
+        for (int color = 0; color < this.colors.length; color++) {
+            long[] bits = this.colors[color];
+            if (this.runStarts(bits, minLength, 1, rowMask)) {
+                shiftUp(bits, 1, this.previous);
+                and(this.previous, this.notFirstColumn);
+                result += this.emitRuns(color, bits, 1, consumer);
+            }
+            if (this.runStarts(bits, minLength, this.width, null)) {
+                shiftUp(bits, this.width, this.previous);
+                result += this.emitRuns(color, bits, this.width, consumer);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le nombre de mots de 64 bits d'un masque de ce plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public int getWordCount() {
+        return this.words;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Calcule dans starts les cases débutant un alignement d'au moins minLength tuiles dans une direction
+     * @param bits Masque de la couleur
+     * @param minLength Longueur minimale
+     * @param step Pas de la direction (1 en horizontal, width en vertical)
+     * @param mask Masque des débuts possibles (null si aucun filtre n'est nécessaire)
+     * @return Vrai si au moins un début a été trouvé
+     */
+    private boolean runStarts(long[] bits, int minLength, int step, long[] mask) {
+        System.arraycopy(bits, 0, this.starts, 0, this.words);
+        if (mask != null) {
+            and(this.starts, mask);
+        }
+        for (int k = 1; k < minLength; k++) {
+            shiftDown(bits, k * step, this.shifted);
+            if (!and(this.starts, this.shifted)) {
+                return false;
+            }
+        }
+        return !isEmpty(this.starts);
+    }
+
+    /**
+     * Ajoute au résultat toutes les cases couvertes par les débuts d'alignement présents dans starts
+     * @param minLength Longueur minimale
+     * @param step Pas de la direction
+     * @param result Masque résultat
+     */
+    private void spread(int minLength, int step, long[] result) {
+        or(result, this.starts);
+        for (int k = 1; k < minLength; k++) {
+            shiftUp(this.starts, k * step, this.shifted);
+            or(result, this.shifted);
+        }
+    }
+
+    /**
+     * Émet les alignements maximaux : un début est maximal si la case précédente (masque previous) n'est pas
+     * de la même couleur
+     * @param color Ordinal de la couleur
+     * @param bits Masque de la couleur
+     * @param step Pas de la direction
+     * @param consumer Consommateur
+     * @return Nombre d'alignements émis
+     */
+    private int emitRuns(int color, long[] bits, int step, RunConsumer consumer) {
+        int result = 0;
+        int size = this.width * this.height;
+        for (int word = 0; word < this.words; word++) {
+            long pending = this.starts[word] & ~this.previous[word];
+            while (pending != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                int x = index % this.width;
+                int limit = step == 1 ? index - x + this.width : size;
+                int length = 1;
+                for (int next = index + step; next < limit && (bits[next >>> 6] & (1L << next)) != 0; next += step) {
+                    length++;
+                }
+                consumer.accept(color, x, index / this.width, length, step == 1);
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le masque des cases pouvant débuter un alignement horizontal de minLength tuiles
+     * @param minLength Longueur minimale
+     * @return long[]
+     */
+    private long[] rowStartMask(int minLength) {
+        if (this.rowStartMask == null || this.rowStartLength != minLength) {
+            this.rowStartMask = this.columnMask(0, this.width - minLength);
+            this.rowStartLength = minLength;
+        }
+        return this.rowStartMask;
+    }
+
+    /**
+     * Construit le masque des cases dont la colonne est comprise entre deux bornes
+     * @param fromX Première colonne
+     * @param toX Dernière colonne (incluse)
+     * @return long[]
+     */
+    private long[] columnMask(int fromX, int toX) {
+        long[] result = new long[this.words];
+        for (int y = 0; y < this.height; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                int index = y * this.width + x;
+                result[index >>> 6] |= 1L << index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Vérifie la longueur minimale demandée
+     * @param minLength Longueur minimale
+     */
+    private void checkMinLength(int minLength) {
+        if (minLength < 2) {
+            throw new IllegalArgumentException("Longueur minimale d'alignement invalide : " + minLength);
+        }
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Décale un masque vers les index faibles : le bit i du résultat est le bit i + shift de la source
+     * @param source Source
+     * @param shift Décalage
+     * @param target Résultat
+     */
+    private static void shiftDown(long[] source, int shift, long[] target) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        int length = source.length;
+        for (int i = 0; i < length; i++) {
+            int from = i + wordShift;
+            long low = from < length ? source[from] : 0L;
+            if (bitShift == 0) {
+                target[i] = low;
+            } else {
+                long high = from + 1 < length ? source[from + 1] : 0L;
+                target[i] = (low >>> bitShift) | (high << (64 - bitShift));
+            }
+        }
+    }
+
+    /**
+     * Décale un masque vers les index forts : le bit i du résultat est le bit i - shift de la source
+     * @param source Source
+     * @param shift Décalage
+     * @param target Résultat
+     */
+    private static void shiftUp(long[] source, int shift, long[] target) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = source.length - 1; i >= 0; i--) {
+            int from = i - wordShift;
+            long high = from >= 0 ? source[from] : 0L;
+            if (bitShift == 0) {
+                target[i] = high;
+            } else {
+                long low = from - 1 >= 0 ? source[from - 1] : 0L;
+                target[i] = (high << bitShift) | (low >>> (64 - bitShift));
+            }
+        }
+    }
+
+    /**
+     * Effectue un ET logique en place
+     * @param target Masque modifié
+     * @param mask Masque
+     * @return Vrai si le résultat contient au moins un bit
+     */
+    private static boolean and(long[] target, long[] mask) {
+        long any = 0L;
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= mask[i];
+            any |= target[i];
+        }
+        return any != 0L;
+    }
+
+    /**
+     * Effectue un OU logique en place
+     * @param target Masque modifié
+     * @param mask Masque
+     */
+    private static void or(long[] target, long[] mask) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= mask[i];
+        }
+    }
+
+    /**
+     * Indique si un masque est vide
+     * @param bits Masque
+     * @return boolean
+     */
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Consommateur d'alignements
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    @FunctionalInterface
+    public interface RunConsumer {
+
+        /**
+         * Reçoit un alignement maximal
+         * @param color Ordinal de la couleur
+         * @param x Colonne de la première case
+         * @param y Ligne de la première case
+         * @param length Longueur
+         * @param horizontal Vrai pour un alignement horizontal, faux pour un alignement vertical
+         * @since 0.0.1
+         */
+        void accept(int color, int x, int y, int length, boolean horizontal);
+    }
+}
@@ -0,0 +1,99 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.generator.TileSource;
+
+/**
+ * =================================================================================================================
+ * Interface représentant le stockage des couleurs d'un plateau de tuiles.
+ * Les couleurs sont manipulées sous forme d'ordinal de TileColor, la valeur EMPTY représentant une case vide.
+ * Les coordonnées (x, y) sont exprimées avec y = 0 pour la ligne du haut.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public interface TileStorage {
+
+    // Constantes publiques
+    byte                                            EMPTY = -1;
+    int                                             MAX_CELLS = 1 << 24;
+
+    /**
+     * Retourne la largeur du stockage
+     * @return int
+     * @since 0.0.1
+     */
+    int getWidth();
+
+    /**
+     * Retourne la hauteur du stockage
+     * @return int
+     * @since 0.0.1
+     */
+    int getHeight();
+
+    /**
+     * Retourne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return Ordinal de TileColor ou EMPTY
+     * @since 0.0.1
+     */
+    byte get(int x, int y);
+
+    /**
+     * Positionne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Ordinal de TileColor ou EMPTY
+     * @since 0.0.1
+     */
+    void set(int x, int y, byte color);
+
+    /**
+     * Positionne toutes les cases à la même valeur
+     * @param color Ordinal de TileColor ou EMPTY
+     * @since 0.0.1
+     */
+    void fill(byte color);
+
+    /**
+     * Remplit toutes les cases à partir d'une source de tuiles, en un seul lot
+     * @param source Source de tuiles
+     * @since 0.0.1
+     */
+    void generate(TileSource source);
+
+    /**
+     * Fait tomber les tuiles d'une colonne : les cases non vides sont tassées vers le bas (y = height - 1) en
+     * conservant leur ordre, les cases vides se retrouvent en haut
+     * @param x Colonne
+     * @return Nombre de cases vides en haut de la colonne après le tassement
+     * @since 0.0.1
+     */
+    int collapseColumn(int x);
+
+    /**
+     * Remplit les count premières cases d'une colonne à partir d'une source de tuiles. La première tuile fournie
+     * par la source est placée le plus bas.
+     * @param x Colonne
+     * @param count Nombre de cases à remplir
+     * @param source Source de tuiles
+     * @since 0.0.1
+     */
+    void refillColumn(int x, int count, TileSource source);
+
+    /**
+     * Recopie les couleurs d'un autre stockage de mêmes dimensions dans ce stockage, sans allocation
+     * @param other Stockage source
+     * @since 0.0.1
+     */
+    void copyFrom(TileStorage other);
+
+    /**
+     * Retourne une copie indépendante de ce stockage
+     * @return TileStorage
+     * @since 0.0.1
+     */
+    TileStorage copy();
+}
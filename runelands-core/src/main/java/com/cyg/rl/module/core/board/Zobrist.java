@@ -0,0 +1,74 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.generator.TileRandom;
+import com.cyg.rl.module.core.types.TileColor;
+
+/**
+ * =================================================================================================================
+ * Helper de hachage de Zobrist des plateaux : le hash d'un plateau est le XOR des clés (case, couleur) de toutes
+ * ses cases non vides. Les clés sont calculées à la volée à partir de l'index de la case (y * width + x), ce qui
+ * les rend identiques pour tous les plateaux sans table à maintenir. Changer la couleur d'une case revient à
+ * appliquer XOR avec l'ancienne puis la nouvelle clé.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class Zobrist {
+
+    // Constantes internes
+    private static final long                       SEED = 0x5EED_2B0A_12D5_0B15L;
+
+    /**
+     * Constructeur privé
+     */
+    private Zobrist() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Retourne la clé d'une case pour une couleur
+     * @param index Index de la case (y * width + x)
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @return Clé (0 pour une case vide)
+     * @since 0.0.1
+     */
+    public static long key(int index, byte color) {
+        return color != TileStorage.EMPTY ? TileRandom.at(SEED, (long) index * TileColor.count() + color) : 0L;
+    }
+
+    /**
+     * Calcule entièrement le hash d'un stockage
+     * @param storage Stockage
+     * @return long
+     * @since 0.0.1
+     */
+    public static long hash(TileStorage storage) {
+        long result = 0L;
+        int width = storage.getWidth();
+        for (int y = 0, index = 0; y < storage.getHeight(); y++) {
+            for (int x = 0; x < width; x++, index++) {
+                result ^= key(index, storage.get(x, y));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calcule la contribution au hash des count premières cases d'une colonne, depuis le haut (comme lors d'un
+     * effondrement ou d'un remplissage de colonne)
+     * @param storage Stockage
+     * @param x Colonne
+     * @param count Nombre de cases, depuis le haut de la colonne
+     * @return long
+     * @since 0.0.1
+     */
+    public static long column(TileStorage storage, int x, int count) {
+        long result = 0L;
+        int width = storage.getWidth();
+        for (int y = 0, index = x; y < count; y++, index += width) {
+            result ^= key(index, storage.get(x, y));
+        }
+        return result;
+    }
+}
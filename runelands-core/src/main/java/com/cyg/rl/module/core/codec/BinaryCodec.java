@@ -0,0 +1,380 @@
+package com.cyg.rl.module.core.codec;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.effects.EffectPipeline;
+import com.cyg.rl.module.core.models.Effect;
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * =================================================================================================================
+ * Codec binaire compact des modèles du cœur, alternative à la sérialisation JSON pour la synchronisation et le
+ * stockage. Tout est lu et écrit directement dans un ByteBuffer, sans objet intermédiaire.
+ * Format d'un plateau :
+ * - largeur et hauteur (varint), octet de drapeaux (0x01 générateur présent, 0x02 cases vides présentes, 0x04
+ * générateur contraint), graine (8 octets) ;
+ * - si présent, le générateur : type (ordinal + 1, 0 pour null), graine (8 octets), nombre d'exemplaires (varint) ;
+ * - si le plateau a des cases vides, un bit par case (1 = vide) ;
+ * - les couleurs, 2 bits par case dans l'ordre y * width + x (0 pour une case vide).
+ * Format d'un joueur : points de vie (varint zigzag).
+ * Format d'un effet : octet d'en-tête (attaque ?, type + 1, cible + 1), suivi de la valeur (varint zigzag) pour
+ * une attaque.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class BinaryCodec {
+
+    // Constantes internes
+    private static final int                        COLOR_BITS = 2;
+    private static final int                        COLORS_PER_BYTE = 8 / COLOR_BITS;
+    private static final int                        FLAG_GENERATOR = 0x01;
+    private static final int                        FLAG_EMPTY = 0x02;
+    private static final int                        FLAG_CONSTRAINED = 0x04;
+    private static final int                        EFFECT_ATTACK = 0x80;
+    private static final TileGeneratorType[]        GENERATOR_TYPES = TileGeneratorType.values();
+    private static final EffectType[]               EFFECT_TYPES = EffectType.values();
+    private static final EffectTarget[]             EFFECT_TARGETS = EffectTarget.values();
+
+    static {
+        if (TileColor.count() > 1 << COLOR_BITS || EFFECT_TYPES.length > 0x1F || EFFECT_TARGETS.length > 0x03) {
+            throw new IllegalStateException("Format binaire trop étroit pour les types énumérés");
+        }
+    }
+
+    /**
+     * Constructeur privé
+     */
+    private BinaryCodec() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Retourne la taille maximale de l'encodage d'un plateau, pour dimensionner un tampon
+     * @param width Largeur
+     * @param height Hauteur
+     * @return int
+     * @since 0.0.1
+     */
+    public static int maxBoardSize(int width, int height) {
+        int cells = width * height;
+        return VarInts.sizeOfUnsigned(width) + VarInts.sizeOfUnsigned(height) + 1 + Long.BYTES
+                + 1 + Long.BYTES + VarInts.sizeOfUnsigned(Integer.MAX_VALUE)
+                + (cells + 7) / 8 + (cells + COLORS_PER_BYTE - 1) / COLORS_PER_BYTE;
+    }
+
+    /**
+     * Écrit un plateau
+     * @param buffer Tampon de destination
+     * @param board Plateau
+     * @since 0.0.1
+     */
+    public static void writeBoard(@NonNull ByteBuffer buffer, @NonNull TileBoard board) {
+        TileStorage storage = board.getStorage();
+        int width = storage.getWidth();
+        int height = storage.getHeight();
+        TileGenerator generator = board.getGenerator();
+        boolean empty = hasEmpty(storage);
+        VarInts.putUnsigned(buffer, width);
+        VarInts.putUnsigned(buffer, height);
+        buffer.put((byte) ((generator != null ? FLAG_GENERATOR : 0) | (empty ? FLAG_EMPTY : 0)
+                | (generator != null && generator.isConstrained() ? FLAG_CONSTRAINED : 0)));
+        buffer.putLong(board.getSeed());
+        if (generator != null) {
+            buffer.put((byte) (generator.getType() != null ? generator.getType().ordinal() + 1 : 0));
+            buffer.putLong(generator.getSeed());
+            VarInts.putUnsigned(buffer, generator.getDeckCopies());
+        }
+        if (empty) {
+            writeCells(buffer, storage, 1, true);
+        }
+        writeCells(buffer, storage, COLOR_BITS, false);
+    }
+
+    /**
+     * Lit un plateau dans un nouveau plateau
+     * @param buffer Tampon source
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public static TileBoard readBoard(@NonNull ByteBuffer buffer) {
+        int position = buffer.position();
+        int width = VarInts.getUnsigned(buffer);
+        int height = VarInts.getUnsigned(buffer);
+        long cells = (long) width * height;
+        if (width < 0 || height < 0 || cells > TileStorage.MAX_CELLS
+                || 1 + Long.BYTES + (cells + COLORS_PER_BYTE - 1) / COLORS_PER_BYTE > buffer.remaining()) {
+            throw new IllegalArgumentException("Dimensions de plateau invalides : " + width + "x" + height);
+        }
+        buffer.position(position);
+        return readBoard(buffer, TileBoard.of(null, new PackedTileStorage(width, height)));
+    }
+
+    /**
+     * Lit un plateau dans un plateau existant de mêmes dimensions, sans allocation (le générateur n'est recréé
+     * que s'il diffère de celui du plateau). L'en-tête est entièrement validé avant toute modification : un
+     * message invalide laisse le plateau intact
+     * @param buffer Tampon source
+     * @param board Plateau de destination
+     * @return Le plateau de destination
+     * @since 0.0.1
+     */
+    public static TileBoard readBoard(@NonNull ByteBuffer buffer, @NonNull TileBoard board) {
+        TileStorage storage = board.getStorage();
+        int width = VarInts.getUnsigned(buffer);
+        int height = VarInts.getUnsigned(buffer);
+        if (width != storage.getWidth() || height != storage.getHeight()) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + width + "x" + height);
+        }
+        int flags = buffer.get();
+        long boardSeed = buffer.getLong();
+        TileGeneratorType type = null;
+        long seed = 0L;
+        int copies = 0;
+        if ((flags & FLAG_GENERATOR) != 0) {
+            int ordinal = buffer.get() & 0xFF;
+            if (ordinal > GENERATOR_TYPES.length) {
+                throw new IllegalArgumentException("Type de générateur inconnu : " + ordinal);
+            }
+            type = ordinal > 0 ? GENERATOR_TYPES[ordinal - 1] : null;
+            seed = buffer.getLong();
+            copies = VarInts.getUnsigned(buffer);
+        }
+        int cells = width * height;
+        int emptyStart = buffer.position();
+        int emptyBytes = (flags & FLAG_EMPTY) != 0 ? (cells + 7) / 8 : 0;
+        if (buffer.remaining() < emptyBytes + (cells + COLORS_PER_BYTE - 1) / COLORS_PER_BYTE) {
+            throw new IllegalArgumentException("Plateau tronqué : " + buffer.remaining() + " octets restants");
+        }
+        board.setSeed(boardSeed);
+        if ((flags & FLAG_GENERATOR) != 0) {
+            readGenerator(board, type, seed, copies, (flags & FLAG_CONSTRAINED) != 0);
+        } else {
+            board.setGenerator(null);
+        }
+        board.setSource(null);
+        buffer.position(emptyStart + emptyBytes);
+        readCells(buffer, storage);
+        if ((flags & FLAG_EMPTY) != 0) {
+            readEmpty(buffer, emptyStart, storage);
+        }
+        board.rehash();
+        return board;
+    }
+
+    /**
+     * Écrit un joueur
+     * @param buffer Tampon de destination
+     * @param player Joueur
+     * @since 0.0.1
+     */
+    public static void writePlayer(@NonNull ByteBuffer buffer, @NonNull Player player) {
+        VarInts.putSigned(buffer, player.getLife());
+    }
+
+    /**
+     * Lit un joueur dans un nouveau joueur
+     * @param buffer Tampon source
+     * @return Player
+     * @since 0.0.1
+     */
+    public static Player readPlayer(@NonNull ByteBuffer buffer) {
+        return readPlayer(buffer, new Player());
+    }
+
+    /**
+     * Lit un joueur dans un joueur existant
+     * @param buffer Tampon source
+     * @param player Joueur de destination
+     * @return Le joueur de destination
+     * @since 0.0.1
+     */
+    public static Player readPlayer(@NonNull ByteBuffer buffer, @NonNull Player player) {
+        player.setLife(VarInts.getSigned(buffer));
+        return player;
+    }
+
+    /**
+     * Écrit un effet
+     * @param buffer Tampon de destination
+     * @param effect Effet
+     * @since 0.0.1
+     */
+    public static void writeEffect(@NonNull ByteBuffer buffer, @NonNull Effect effect) {
+        boolean attack = effect instanceof EffectAttack;
+        buffer.put((byte) ((attack ? EFFECT_ATTACK : 0)
+                | (effect.getType() != null ? effect.getType().ordinal() + 1 : 0) << 2
+                | (effect.getTarget() != null ? effect.getTarget().ordinal() + 1 : 0)));
+        if (attack) {
+            VarInts.putSigned(buffer, ((EffectAttack) effect).getValue());
+        }
+    }
+
+    /**
+     * Écrit une attaque sans construire son modèle
+     * @param buffer Tampon de destination
+     * @param target Cible
+     * @param value Valeur
+     * @since 0.0.1
+     */
+    public static void writeAttack(@NonNull ByteBuffer buffer, @NonNull EffectTarget target, int value) {
+        buffer.put((byte) (EFFECT_ATTACK | (EffectType.ATTACK.ordinal() + 1) << 2 | (target.ordinal() + 1)));
+        VarInts.putSigned(buffer, value);
+    }
+
+    /**
+     * Lit un effet dans un nouveau modèle
+     * @param buffer Tampon source
+     * @return Effect ou EffectAttack
+     * @since 0.0.1
+     */
+    public static Effect readEffect(@NonNull ByteBuffer buffer) {
+        int header = buffer.get() & 0xFF;
+        Effect effect = (header & EFFECT_ATTACK) != 0 ? EffectAttack.of(VarInts.getSigned(buffer)) : new Effect();
+        effect.setType(effectType(header));
+        effect.setTarget(effectTarget(header));
+        return effect;
+    }
+
+    /**
+     * Lit un effet directement dans un pipeline d'effets, sans construire son modèle
+     * @param buffer Tampon source
+     * @param pipeline Pipeline de destination
+     * @return Le pipeline de destination
+     * @since 0.0.1
+     */
+    public static EffectPipeline readEffect(@NonNull ByteBuffer buffer, @NonNull EffectPipeline pipeline) {
+        int header = buffer.get() & 0xFF;
+        int value = (header & EFFECT_ATTACK) != 0 ? VarInts.getSigned(buffer) : 0;
+        return pipeline.add(effectType(header), effectTarget(header), value);
+    }
+
+    // ------------ Méthodes statiques privées ---------------
+    /**
+     * Indique si un stockage contient des cases vides
+     * @param storage Stockage
+     * @return boolean
+     */
+    private static boolean hasEmpty(TileStorage storage) {
+        for (int y = 0; y < storage.getHeight(); y++) {
+            for (int x = 0; x < storage.getWidth(); x++) {
+                if (storage.get(x, y) == TileStorage.EMPTY) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Écrit les cases d'un stockage, bits bits par case, de poids faible en poids fort dans chaque octet
+     * @param buffer Tampon de destination
+     * @param storage Stockage
+     * @param bits Nombre de bits par case (1 ou 2)
+     * @param emptyMask Vrai pour écrire le masque des cases vides, faux pour écrire les couleurs
+     */
+    private static void writeCells(ByteBuffer buffer, TileStorage storage, int bits, boolean emptyMask) {
+        int current = 0;
+        int shift = 0;
+        for (int y = 0; y < storage.getHeight(); y++) {
+            for (int x = 0; x < storage.getWidth(); x++) {
+                byte color = storage.get(x, y);
+                int value = emptyMask ? (color == TileStorage.EMPTY ? 1 : 0) : (color == TileStorage.EMPTY ? 0 : color);
+                current |= value << shift;
+                shift += bits;
+                if (shift == 8) {
+                    buffer.put((byte) current);
+                    current = 0;
+                    shift = 0;
+                }
+            }
+        }
+        if (shift != 0) {
+            buffer.put((byte) current);
+        }
+    }
+
+    /**
+     * Lit les couleurs d'un stockage
+     * @param buffer Tampon source
+     * @param storage Stockage de destination
+     */
+    private static void readCells(ByteBuffer buffer, TileStorage storage) {
+        int current = 0;
+        int shift = 8;
+        for (int y = 0; y < storage.getHeight(); y++) {
+            for (int x = 0; x < storage.getWidth(); x++) {
+                if (shift == 8) {
+                    current = buffer.get();
+                    shift = 0;
+                }
+                storage.set(x, y, (byte) ((current >>> shift) & 0x03));
+                shift += COLOR_BITS;
+            }
+        }
+    }
+
+    /**
+     * Applique le masque des cases vides, lu en position absolue
+     * @param buffer Tampon source
+     * @param start Position du masque
+     * @param storage Stockage de destination
+     */
+    private static void readEmpty(ByteBuffer buffer, int start, TileStorage storage) {
+        int width = storage.getWidth();
+        for (int y = 0, index = 0; y < storage.getHeight(); y++) {
+            for (int x = 0; x < width; x++, index++) {
+                if ((buffer.get(start + (index >>> 3)) & (1 << (index & 7))) != 0) {
+                    storage.set(x, y, TileStorage.EMPTY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Affecte le générateur lu au plateau, en conservant le générateur courant s'il est identique
+     * @param board Plateau
+     * @param type Type de générateur
+     * @param seed Graine
+     * @param copies Nombre d'exemplaires
+     * @param constrained Génération contrainte
+     */
+    private static void readGenerator(TileBoard board, TileGeneratorType type, long seed, int copies, boolean constrained) {
+        TileGenerator current = board.getGenerator();
+        if (current == null || current.getType() != type || current.getSeed() != seed || current.getDeckCopies() != copies
+                || current.isConstrained() != constrained) {
+            board.setGenerator(new TileGenerator(type, seed, copies, constrained));
+        }
+    }
+
+    /**
+     * Extrait le type d'un en-tête d'effet
+     * @param header En-tête
+     * @return EffectType ou null
+     */
+    private static EffectType effectType(int header) {
+        int type = (header >>> 2) & 0x1F;
+        return type > 0 ? EFFECT_TYPES[type - 1] : null;
+    }
+
+    /**
+     * Extrait la cible d'un en-tête d'effet
+     * @param header En-tête
+     * @return EffectTarget ou null
+     */
+    private static EffectTarget effectTarget(int header) {
+        int target = header & 0x03;
+        return target > 0 ? EFFECT_TARGETS[target - 1] : null;
+    }
+}
@@ -0,0 +1,221 @@
+package com.cyg.rl.module.core.codec;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.board.Zobrist;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.TileColor;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * =================================================================================================================
+ * Encodage différentiel des plateaux pour la synchronisation des clients : seules les cases modifiées entre deux
+ * versions d'un plateau sont transmises, par plages.
+ * Format : largeur et hauteur (varint), hash de Zobrist de la version de départ et de la version d'arrivée
+ * (8 octets chacun), nombre de plages (varint), puis pour chaque plage le nombre de cases inchangées qui la
+ * précèdent et sa longueur (varint), suivis de ses couleurs sur 4 bits (ordinal + 1, 0 pour une case vide).
+ * Deux plages séparées par moins de MAX_GAP cases inchangées sont fusionnées, l'en-tête d'une plage coûtant plus
+ * cher que ces quelques cases. Les cases sont parcourues dans l'ordre y * width + x.
+ * Les hash servent de somme de contrôle : le delta n'est appliqué que si le plateau est bien dans la version de
+ * départ et si le hash obtenu est bien celui de la version d'arrivée, vérifié avant toute modification ; les
+ * plages et les couleurs sont elles aussi validées lors de cette première lecture.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class BoardDelta {
+
+    // Constantes internes
+    private static final int                        MAX_GAP = 3;
+    private static final int                        COLORS = TileColor.count();
+
+    /**
+     * Constructeur privé
+     */
+    private BoardDelta() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Retourne la taille maximale d'un delta, pour dimensionner un tampon. Le pire cas est celui de modifications
+     * éparses : les plages, séparées d'au moins MAX_GAP + 1 cases, sont au plus (cells + MAX_GAP) / (MAX_GAP + 1),
+     * chacune avec deux varints d'en-tête et au plus un demi-octet perdu.
+     * @param width Largeur
+     * @param height Hauteur
+     * @return int
+     * @since 0.0.1
+     */
+    public static int maxSize(int width, int height) {
+        int cells = width * height;
+        int runs = (cells + MAX_GAP) / (MAX_GAP + 1);
+        return 2 * VarInts.sizeOfUnsigned(Integer.MAX_VALUE) + 2 * Long.BYTES + VarInts.sizeOfUnsigned(runs)
+                + runs * 2 * VarInts.sizeOfUnsigned(cells) + (cells + runs + 1) / 2;
+    }
+
+    /**
+     * Écrit les différences entre deux versions d'un plateau
+     * @param from Version de départ (connue du destinataire)
+     * @param to Version d'arrivée
+     * @param buffer Tampon de destination
+     * @return Nombre de cases transmises
+     * @since 0.0.1
+     */
+    public static int diff(@NonNull TileBoard from, @NonNull TileBoard to, @NonNull ByteBuffer buffer) {
+        TileStorage source = from.getStorage();
+        TileStorage target = to.getStorage();
+        int width = target.getWidth();
+        int height = target.getHeight();
+        if (source.getWidth() != width || source.getHeight() != height) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + source.getWidth() + "x" + source.getHeight());
+        }
+        VarInts.putUnsigned(buffer, width);
+        VarInts.putUnsigned(buffer, height);
+        buffer.putLong(from.getHash());
+        buffer.putLong(to.getHash());
+        int cells = width * height;
+        int runs = 0;
+        for (int index = 0; index < cells; index++) {
+            if (changed(source, target, index, width)) {
+                runs++;
+                index = runEnd(source, target, index, cells, width);
+            }
+        }
+        VarInts.putUnsigned(buffer, runs);
+        int sent = 0;
+        int previous = 0;
+        for (int index = 0; index < cells; index++) {
+            if (!changed(source, target, index, width)) {
+                continue;
+            }
+            int end = runEnd(source, target, index, cells, width);
+            int length = end - index + 1;
+            VarInts.putUnsigned(buffer, index - previous);
+            VarInts.putUnsigned(buffer, length);
+            for (int i = 0; i < length; i += 2) {
+                int low = nibble(target, index + i, width);
+                int high = i + 1 < length ? nibble(target, index + i + 1, width) : 0;
+                buffer.put((byte) (low | high << 4));
+            }
+            sent += length;
+            previous = end + 1;
+            index = end;
+        }
+        return sent;
+    }
+
+    /**
+     * Applique un delta à un plateau, après avoir vérifié les sommes de contrôle. Le plateau n'est pas modifié
+     * si le delta ne s'applique pas.
+     * @param buffer Tampon source
+     * @param board Plateau dans la version de départ
+     * @return Le plateau, dans la version d'arrivée
+     * @since 0.0.1
+     */
+    public static TileBoard apply(@NonNull ByteBuffer buffer, @NonNull TileBoard board) {
+        int width = VarInts.getUnsigned(buffer);
+        int height = VarInts.getUnsigned(buffer);
+        if (width != board.getWidth() || height != board.getHeight()) {
+            throw new IllegalArgumentException("Dimensions incompatibles : " + width + "x" + height);
+        }
+        long fromHash = buffer.getLong();
+        long toHash = buffer.getLong();
+        if (fromHash != board.getHash()) {
+            throw new IllegalArgumentException("Le plateau n'est pas dans la version de départ du delta");
+        }
+        int start = buffer.position();
+        if (replay(buffer, board, false) != toHash) {
+            throw new IllegalArgumentException("Somme de contrôle du delta invalide");
+        }
+        buffer.position(start);
+        replay(buffer, board, true);
+        return board;
+    }
+
+    // ------------ Méthodes statiques privées ---------------
+    /**
+     * Relit les plages d'un delta
+     * @param buffer Tampon positionné sur le nombre de plages
+     * @param board Plateau
+     * @param write Vrai pour modifier le plateau, faux pour seulement calculer le hash résultant
+     * @return Hash du plateau après application
+     */
+    private static long replay(ByteBuffer buffer, TileBoard board, boolean write) {
+        int width = board.getWidth();
+        int cells = width * board.getHeight();
+        long hash = board.getHash();
+        int index = 0;
+        for (int runs = VarInts.getUnsigned(buffer); runs > 0; runs--) {
+            int skip = VarInts.getUnsigned(buffer);
+            int length = VarInts.getUnsigned(buffer);
+            if (skip < 0 || length < 0 || skip > cells - index || length > cells - index - skip) {
+                throw new IllegalArgumentException("Plage de delta invalide : " + index + "+" + skip + "+" + length);
+            }
+            index += skip;
+            int packed = 0;
+            for (int i = 0; i < length; i++, index++) {
+                if ((i & 1) == 0) {
+                    packed = buffer.get();
+                }
+                int nibble = (packed >>> ((i & 1) << 2)) & 0x0F;
+                if (nibble > COLORS) {
+                    throw new IllegalArgumentException("Couleur de delta invalide : " + nibble);
+                }
+                byte color = (byte) (nibble - 1);
+                int x = index % width;
+                int y = index / width;
+                if (write) {
+                    board.set(x, y, color);
+                } else {
+                    hash ^= Zobrist.key(index, board.get(x, y)) ^ Zobrist.key(index, color);
+                }
+            }
+        }
+        return write ? board.getHash() : hash;
+    }
+
+    /**
+     * Retourne le dernier index d'une plage commençant sur une case modifiée, en fusionnant les petits écarts
+     * @param source Stockage de départ
+     * @param target Stockage d'arrivée
+     * @param index Première case de la plage
+     * @param cells Nombre de cases
+     * @param width Largeur
+     * @return int
+     */
+    private static int runEnd(TileStorage source, TileStorage target, int index, int cells, int width) {
+        int end = index;
+        for (int next = index + 1; next < cells && next - end <= MAX_GAP; next++) {
+            if (changed(source, target, next, width)) {
+                end = next;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Indique si une case diffère entre deux stockages
+     * @param source Stockage de départ
+     * @param target Stockage d'arrivée
+     * @param index Index de la case
+     * @param width Largeur
+     * @return boolean
+     */
+    private static boolean changed(TileStorage source, TileStorage target, int index, int width) {
+        int x = index % width;
+        int y = index / width;
+        return source.get(x, y) != target.get(x, y);
+    }
+
+    /**
+     * Retourne la couleur d'une case sur 4 bits
+     * @param storage Stockage
+     * @param index Index de la case
+     * @param width Largeur
+     * @return int
+     */
+    private static int nibble(TileStorage storage, int index, int width) {
+        return storage.get(index % width, index / width) + 1;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cyg.rl.module.core.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * =================================================================================================================
+ * Helper d'encodage des entiers à longueur variable (7 bits utiles par octet, bit de poids fort = suite).
+ * Les valeurs signées passent par un codage zigzag pour que les petites valeurs négatives restent courtes.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class VarInts {
+
+    // Constantes internes
+    private static final int                        MAX_INT_BYTES = 5;
+    private static final int                        MAX_LONG_BYTES = 10;
+
+    /**
+     * Constructeur privé
+     */
+    private VarInts() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Écrit un entier non signé
+     * @param buffer Tampon de destination
+     * @param value Valeur (interprétée comme non signée)
+     * @since 0.0.1
+     */
+    public static void putUnsigned(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Lit un entier non signé
+     * @param buffer Tampon source
+     * @return int
+     * @since 0.0.1
+     */
+    public static int getUnsigned(ByteBuffer buffer) {
+        int result = 0;
+        for (int i = 0, shift = 0; i < MAX_INT_BYTES; i++, shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Entier à longueur variable invalide");
+    }
+
+    /**
+     * Écrit un entier signé (zigzag)
+     * @param buffer Tampon de destination
+     * @param value Valeur
+     * @since 0.0.1
+     */
+    public static void putSigned(ByteBuffer buffer, int value) {
+        putUnsigned(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Lit un entier signé (zigzag)
+     * @param buffer Tampon source
+     * @return int
+     * @since 0.0.1
+     */
+    public static int getSigned(ByteBuffer buffer) {
+        int value = getUnsigned(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Écrit un long non signé
+     * @param buffer Tampon de destination
+     * @param value Valeur (interprétée comme non signée)
+     * @since 0.0.1
+     */
+    public static void putUnsignedLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Lit un long non signé
+     * @param buffer Tampon source
+     * @return long
+     * @since 0.0.1
+     */
+    public static long getUnsignedLong(ByteBuffer buffer) {
+        long result = 0L;
+        for (int i = 0, shift = 0; i < MAX_LONG_BYTES; i++, shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Entier à longueur variable invalide");
+    }
+
+    /**
+     * Retourne le nombre d'octets nécessaires à l'écriture d'un entier non signé
+     * @param value Valeur
+     * @return int
+     * @since 0.0.1
+     */
+    public static int sizeOfUnsigned(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Retourne le nombre d'octets nécessaires à l'écriture d'un entier signé
+     * @param value Valeur
+     * @return int
+     * @since 0.0.1
+     */
+    public static int sizeOfSigned(int value) {
+        return sizeOfUnsigned((value << 1) ^ (value >> 31));
+    }
+}
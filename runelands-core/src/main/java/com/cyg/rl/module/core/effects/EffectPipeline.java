@@ -0,0 +1,155 @@
+package com.cyg.rl.module.core.effects;
+
+import com.cyg.rl.module.core.models.Effect;
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Pipeline de résolution des effets d'un tour : les effets sont cumulés au fil du tour dans un tableau primitif
+ * indexé par (type, cible), puis appliqués aux joueurs en une seule passe. Le coût d'application est borné par
+ * le nombre de couples (type, cible), quel que soit le nombre d'effets produits, et aucun objet intermédiaire
+ * n'est alloué par effet. Une instance n'est pas thread-safe : elle est prévue pour être réutilisée d'un tour
+ * à l'autre par la même partie.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class EffectPipeline {
+
+    // Constantes internes
+    private static final EffectType[]               TYPES = EffectType.values();
+    private static final EffectTarget[]             TARGETS = EffectTarget.values();
+
+    // Membres internes
+    private final int[]                             totals;
+    private final int[]                             counts;
+    private int                                     size;
+
+    /**
+     * Constructeur
+     */
+    public EffectPipeline() {
+        this.totals = new int[TYPES.length * TARGETS.length];
+        this.counts = new int[TYPES.length * TARGETS.length];
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Ajoute un effet au tour courant
+     * @param type Type d'effet
+     * @param target Cible de l'effet
+     * @param value Valeur de l'effet
+     * @return EffectPipeline
+     * @since 0.0.1
+     */
+    public EffectPipeline add(EffectType type, EffectTarget target, int value) {
+        int slot = slot(type, target);
+        this.totals[slot] += value;
+        this.counts[slot]++;
+        this.size++;
+        return this;
+    }
+
+    /**
+     * Ajoute un effet au tour courant à partir de son modèle
+     * @param effect Effet (un effet sans valeur compte pour 0)
+     * @return EffectPipeline
+     * @since 0.0.1
+     */
+    public EffectPipeline add(Effect effect) {
+        return this.add(effect.getType(), effect.getTarget(), effect instanceof EffectAttack ? ((EffectAttack) effect).getValue() : 0);
+    }
+
+    /**
+     * Ajoute un effet canonique au tour courant
+     * @param effect Effet
+     * @return EffectPipeline
+     * @since 0.0.1
+     */
+    public EffectPipeline add(ImmutableEffect effect) {
+        return this.add(effect.getType(), effect.getTarget(), effect.getValue());
+    }
+
+    /**
+     * Retourne le cumul des valeurs des effets d'un type sur une cible, pour le tour courant
+     * @param type Type d'effet
+     * @param target Cible
+     * @return int
+     * @since 0.0.1
+     */
+    public int getTotal(EffectType type, EffectTarget target) {
+        return this.totals[slot(type, target)];
+    }
+
+    /**
+     * Retourne le nombre d'effets d'un type sur une cible, pour le tour courant
+     * @param type Type d'effet
+     * @param target Cible
+     * @return int
+     * @since 0.0.1
+     */
+    public int getCount(EffectType type, EffectTarget target) {
+        return this.counts[slot(type, target)];
+    }
+
+    /**
+     * Retourne le nombre d'effets du tour courant
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Applique les effets cumulés du tour aux joueurs, puis vide le pipeline
+     * @param player Joueur qui a produit les effets (cible PLAYER)
+     * @param opponent Adversaire (cible OPPONENT)
+     * @since 0.0.1
+     */
+    public void apply(Player player, Player opponent) {
+        for (EffectTarget target : TARGETS) {
+            Player targeted = target == EffectTarget.PLAYER ? player : opponent;
+            int life = targeted.getLife();
+            for (EffectType type : TYPES) {
+                int total = this.totals[slot(type, target)];
+                switch (type) {
+                    case ATTACK:
+                        life -= total;
+                        break;
+                    default:
+                        throw new IllegalStateException("Type d'effet non géré : " + type);
+                }
+            }
+            targeted.setLife(life);
+        }
+        this.clear();
+    }
+
+    /**
+     * Vide le pipeline sans appliquer les effets
+     * @since 0.0.1
+     */
+    public void clear() {
+        Arrays.fill(this.totals, 0);
+        Arrays.fill(this.counts, 0);
+        this.size = 0;
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Retourne l'emplacement d'un couple (type, cible)
+     * @param type Type
+     * @param target Cible
+     * @return int
+     */
+    private static int slot(EffectType type, EffectTarget target) {
+        return type.ordinal() * TARGETS.length + target.ordinal();
+    }
+}
@@ -0,0 +1,122 @@
+package com.cyg.rl.module.core.effects;
+
+import com.cyg.rl.module.core.models.Effect;
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * =================================================================================================================
+ * Effet immuable et canonique, à utiliser dans les traitements intensifs à la place des modèles Effect.
+ * Les effets dont la valeur est comprise entre MIN_CACHED et MAX_CACHED sont créés une fois pour toutes dans une
+ * table indexée par (type, cible, valeur) : of() retourne alors toujours la même instance, qui peut être comparée
+ * par identité. Les autres valeurs produisent une nouvelle instance, égale au sens d'equals.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class ImmutableEffect {
+
+    // Constantes publiques
+    public static final int                         MIN_CACHED = -128;
+    public static final int                         MAX_CACHED = 1023;
+
+    // Constantes internes
+    private static final EffectType[]               TYPES = EffectType.values();
+    private static final EffectTarget[]             TARGETS = EffectTarget.values();
+    private static final int                        RANGE = MAX_CACHED - MIN_CACHED + 1;
+    private static final ImmutableEffect[]          CACHE = new ImmutableEffect[TYPES.length * TARGETS.length * RANGE];
+
+    static {
+        for (EffectType type : TYPES) {
+            for (EffectTarget target : TARGETS) {
+                for (int value = MIN_CACHED; value <= MAX_CACHED; value++) {
+                    CACHE[index(type, target, value)] = new ImmutableEffect(type, target, value);
+                }
+            }
+        }
+    }
+
+    // Membres internes
+    private final EffectType                        type;
+    private final EffectTarget                      target;
+    private final int                               value;
+
+    /**
+     * Constructeur
+     * @param type Type d'effet
+     * @param target Cible
+     * @param value Valeur
+     */
+    private ImmutableEffect(EffectType type, EffectTarget target, int value) {
+        this.type = type;
+        this.target = target;
+        this.value = value;
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Retourne l'effet canonique correspondant
+     * @param type Type d'effet
+     * @param target Cible
+     * @param value Valeur
+     * @return ImmutableEffect
+     * @since 0.0.1
+     */
+    public static ImmutableEffect of(@NonNull EffectType type, @NonNull EffectTarget target, int value) {
+        return isCached(value) ? CACHE[index(type, target, value)] : new ImmutableEffect(type, target, value);
+    }
+
+    /**
+     * Retourne l'effet canonique correspondant à un modèle
+     * @param effect Modèle (un effet sans valeur vaut 0)
+     * @return ImmutableEffect
+     * @since 0.0.1
+     */
+    public static ImmutableEffect of(@NonNull Effect effect) {
+        return of(effect.getType(), effect.getTarget(), effect instanceof EffectAttack ? ((EffectAttack) effect).getValue() : 0);
+    }
+
+    /**
+     * Indique si une valeur est servie depuis la table des effets canoniques
+     * @param value Valeur
+     * @return boolean
+     * @since 0.0.1
+     */
+    public static boolean isCached(int value) {
+        return value >= MIN_CACHED && value <= MAX_CACHED;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Crée le modèle modifiable correspondant, pour la sérialisation ou les API existantes
+     * @return Effect (EffectAttack pour une attaque)
+     * @since 0.0.1
+     */
+    public Effect toEffect() {
+        Effect effect = this.type == EffectType.ATTACK ? EffectAttack.of(this.value) : new Effect();
+        effect.setType(this.type);
+        effect.setTarget(this.target);
+        return effect;
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Retourne l'index d'un effet dans la table
+     * @param type Type
+     * @param target Cible
+     * @param value Valeur (dans la plage de la table)
+     * @return int
+     */
+    private static int index(EffectType type, EffectTarget target, int value) {
+        return (type.ordinal() * TARGETS.length + target.ordinal()) * RANGE + value - MIN_CACHED;
+    }
+}
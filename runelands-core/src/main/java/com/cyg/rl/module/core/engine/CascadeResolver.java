@@ -0,0 +1,315 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.board.BoardGeometry;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.TileColor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Moteur de résolution d'un coup sur un plateau : recherche des alignements, suppression des tuiles alignées,
+ * chute des colonnes, remplissage depuis la source de tuiles du plateau, et ainsi de suite jusqu'à stabilité.
+ * Seules les cases dont la couleur a changé sont réexaminées à chaque étape de la cascade ; leurs coordonnées
+ * et les séries de même couleur autour d'elles sont lues dans la géométrie partagée (BoardGeometry) des plateaux
+ * traités, sans division ni test de bornes.
+ * Les tableaux de travail sont alloués à la construction : une instance n'est pas thread-safe mais peut être
+ * réutilisée pour tous les plateaux de mêmes dimensions.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class CascadeResolver {
+
+    // Constantes publiques
+    public static final int                         MIN_MATCH = BoardGeometry.LINE_LENGTH;
+    public static final int                         DEFAULT_MAX_DEPTH = 100;
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final int                               maxDepth;
+    private final BoardGeometry                     geometry;
+    private final int[]                             pending;
+    private int                                     pendingCount;
+    private final long[]                            queued;
+    private final long[]                            matched;
+    private final int[]                             lowest;
+    private final byte[]                            before;
+    private final int[]                             matchedByColor;
+    @Getter
+    private int                                     depth;
+    @Getter
+    private int                                     matchedTotal;
+
+    /**
+     * Constructeur
+     * @param width Largeur des plateaux traités
+     * @param height Hauteur des plateaux traités
+     */
+    public CascadeResolver(int width, int height) {
+        this(width, height, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Constructeur
+     * @param width Largeur des plateaux traités
+     * @param height Hauteur des plateaux traités
+     * @param maxDepth Profondeur maximale de cascade (protège d'une source de tuiles dégénérée)
+     */
+    public CascadeResolver(int width, int height, int maxDepth) {
+        this.width = width;
+        this.height = height;
+        this.maxDepth = maxDepth;
+        this.geometry = BoardGeometry.of(width, height);
+        int size = width * height;
+        this.pending = new int[size];
+        this.queued = new long[(size + 63) >>> 6];
+        this.matched = new long[(size + 63) >>> 6];
+        this.lowest = new int[width];
+        this.before = new byte[height];
+        this.matchedByColor = new int[TileColor.count()];
+        Arrays.fill(this.lowest, -1);
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée un moteur de résolution aux dimensions d'un plateau
+     * @param board Plateau
+     * @return CascadeResolver
+     * @since 0.0.1
+     */
+    public static CascadeResolver of(TileBoard board) {
+        return new CascadeResolver(board.getWidth(), board.getHeight());
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Échange deux cases adjacentes et résout la cascade qui en découle.
+     * Si l'échange ne produit aucun alignement, il est annulé.
+     * @param board Plateau
+     * @param x1 Colonne de la première case
+     * @param y1 Ligne de la première case
+     * @param x2 Colonne de la seconde case
+     * @param y2 Ligne de la seconde case
+     * @return Vrai si l'échange a produit au moins un alignement
+     * @since 0.0.1
+     */
+    public boolean swap(TileBoard board, int x1, int y1, int x2, int y2) {
+        this.checkBoard(board);
+        if (Math.abs(x1 - x2) + Math.abs(y1 - y2) != 1) {
+            throw new IllegalArgumentException("Les cases (" + x1 + "," + y1 + ") et (" + x2 + "," + y2 + ") ne sont pas adjacentes");
+        }
+        byte first = board.get(x1, y1);
+        byte second = board.get(x2, y2);
+        this.reset();
+        if (first == second || first == TileStorage.EMPTY || second == TileStorage.EMPTY) {
+            return false;
+        }
+        board.set(x1, y1, second);
+        board.set(x2, y2, first);
+        this.enqueue(x1, y1);
+        this.enqueue(x2, y2);
+        if (!this.cascade(board)) {
+            board.set(x1, y1, first);
+            board.set(x2, y2, second);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Pose une tuile sur une case et résout la cascade qui en découle
+     * @param board Plateau
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Couleur posée
+     * @return Vrai si la pose a produit au moins un alignement
+     * @since 0.0.1
+     */
+    public boolean place(TileBoard board, int x, int y, TileColor color) {
+        this.checkBoard(board);
+        this.reset();
+        board.setColor(x, y, color);
+        this.enqueue(x, y);
+        return this.cascade(board);
+    }
+
+    /**
+     * Examine toutes les cases du plateau et résout les cascades éventuelles
+     * @param board Plateau
+     * @return Vrai si au moins un alignement a été trouvé
+     * @since 0.0.1
+     */
+    public boolean resolve(TileBoard board) {
+        this.checkBoard(board);
+        this.reset();
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                this.enqueue(x, y);
+            }
+        }
+        return this.cascade(board);
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur supprimées lors de la dernière résolution
+     * @param color Couleur
+     * @return int
+     * @since 0.0.1
+     */
+    public int getMatchedCount(TileColor color) {
+        return this.matchedByColor[color.ordinal()];
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Enchaîne les étapes de cascade tant que des cases modifiées forment des alignements
+     * @param board Plateau
+     * @return Vrai si au moins un alignement a été trouvé
+     */
+    private boolean cascade(TileBoard board) {
+        while (this.depth < this.maxDepth && this.scanPending(board)) {
+            this.depth++;
+            this.removeMatched(board);
+        }
+        this.clearPending();
+        return this.depth > 0;
+    }
+
+    /**
+     * Examine les cases en attente et marque celles qui appartiennent à un alignement
+     * @param board Plateau
+     * @return Vrai si au moins une case a été marquée
+     */
+    private boolean scanPending(TileBoard board) {
+        TileStorage storage = board.getStorage();
+        boolean found = false;
+        for (int i = 0; i < this.pendingCount; i++) {
+            int index = this.pending[i];
+            this.queued[index >>> 6] &= ~(1L << index);
+            int x = this.geometry.x(index);
+            int y = this.geometry.y(index);
+            byte color = board.get(x, y);
+            if (color == TileStorage.EMPTY) {
+                continue;
+            }
+            int left = x - this.geometry.run(storage, index, BoardGeometry.LEFT, color, -1);
+            int right = x + this.geometry.run(storage, index, BoardGeometry.RIGHT, color, -1);
+            if (right - left + 1 >= MIN_MATCH) {
+                for (int mx = left; mx <= right; mx++) {
+                    this.mark(mx, y);
+                }
+                found = true;
+            }
+            int top = y - this.geometry.run(storage, index, BoardGeometry.UP, color, -1);
+            int bottom = y + this.geometry.run(storage, index, BoardGeometry.DOWN, color, -1);
+            if (bottom - top + 1 >= MIN_MATCH) {
+                for (int my = top; my <= bottom; my++) {
+                    this.mark(x, my);
+                }
+                found = true;
+            }
+        }
+        this.pendingCount = 0;
+        return found;
+    }
+
+    /**
+     * Supprime les cases marquées, fait tomber et remplit les colonnes touchées, puis met en attente les cases
+     * dont la couleur a changé
+     * @param board Plateau
+     */
+    private void removeMatched(TileBoard board) {
+        for (int x = 0; x < this.width; x++) {
+            int last = this.lowest[x];
+            if (last < 0) {
+                continue;
+            }
+            for (int y = 0; y <= last; y++) {
+                byte color = board.get(x, y);
+                int index = y * this.width + x;
+                long bit = 1L << index;
+                if ((this.matched[index >>> 6] & bit) != 0) {
+                    this.matched[index >>> 6] &= ~bit;
+                    this.matchedByColor[color]++;
+                    this.matchedTotal++;
+                    board.set(x, y, TileStorage.EMPTY);
+                    // Une case supprimée est toujours réexaminée, même si la tuile qui la remplace a la même couleur
+                    this.before[y] = TileStorage.EMPTY;
+                } else {
+                    this.before[y] = color;
+                }
+            }
+            board.refillColumn(x, board.collapseColumn(x));
+            for (int y = 0; y <= last; y++) {
+                if (board.get(x, y) != this.before[y]) {
+                    this.enqueue(x, y);
+                }
+            }
+            this.lowest[x] = -1;
+        }
+    }
+
+    /**
+     * Marque une case comme appartenant à un alignement
+     * @param x Colonne
+     * @param y Ligne
+     */
+    private void mark(int x, int y) {
+        int index = y * this.width + x;
+        this.matched[index >>> 6] |= 1L << index;
+        if (y > this.lowest[x]) {
+            this.lowest[x] = y;
+        }
+    }
+
+    /**
+     * Met une case en attente d'examen, si elle ne l'est pas déjà
+     * @param x Colonne
+     * @param y Ligne
+     */
+    private void enqueue(int x, int y) {
+        int index = y * this.width + x;
+        long bit = 1L << index;
+        if ((this.queued[index >>> 6] & bit) == 0) {
+            this.queued[index >>> 6] |= bit;
+            this.pending[this.pendingCount++] = index;
+        }
+    }
+
+    /**
+     * Vide la liste des cases en attente (cas d'une cascade interrompue par la profondeur maximale)
+     */
+    private void clearPending() {
+        for (int i = 0; i < this.pendingCount; i++) {
+            int index = this.pending[i];
+            this.queued[index >>> 6] &= ~(1L << index);
+        }
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Réinitialise les statistiques de résolution
+     */
+    private void reset() {
+        this.depth = 0;
+        this.matchedTotal = 0;
+        Arrays.fill(this.matchedByColor, 0);
+    }
+
+    /**
+     * Vérifie que le plateau a les dimensions attendues
+     * @param board Plateau
+     */
+    private void checkBoard(TileBoard board) {
+        if (board.getWidth() != this.width || board.getHeight() != this.height) {
+            throw new IllegalArgumentException("Dimensions de plateau incompatibles : " + board.getWidth() + "x" + board.getHeight());
+        }
+    }
+}
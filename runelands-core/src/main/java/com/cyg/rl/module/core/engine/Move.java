@@ -0,0 +1,37 @@
+package com.cyg.rl.module.core.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * =================================================================================================================
+ * Modèle d'un coup : échange de deux cases adjacentes.
+ * Les moteurs manipulent les coups sous forme d'entiers (voir Moves) ; cette classe ne sert qu'aux frontières
+ * de l'API.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class Move {
+
+    // Membres internes
+    private int             fromX;
+    private int             fromY;
+    private int             toX;
+    private int             toY;
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée un coup à partir de sa forme entière
+     * @param move Coup (voir Moves)
+     * @param width Largeur du plateau
+     * @return Move
+     * @since 0.0.1
+     */
+    public static Move of(int move, int width) {
+        return of(Moves.x(move, width), Moves.y(move, width), Moves.toX(move, width), Moves.toY(move, width));
+    }
+}
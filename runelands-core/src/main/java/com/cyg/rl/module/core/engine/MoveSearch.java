@@ -0,0 +1,333 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * =================================================================================================================
+ * Moteur de recherche de coups (bots, indices).
+ * Chaque coup légal est évalué en simulant sa cascade sur une copie du plateau, sans remplissage (les tuiles à
+ * venir sont inconnues), puis en ajoutant la meilleure valeur des plis suivants. Les coups racine et, pour les
+ * recherches profondes, les coups du premier pli sont explorés en parallèle dans un ForkJoinPool (vol de tâches).
+ * Les plateaux et moteurs de résolution de travail sont conservés par thread : une fois chauds, les plis
+ * séquentiels n'allouent rien. Les positions déjà évaluées sont partagées via une table de transposition.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MoveSearch {
+
+    // Constantes publiques
+    public static final int                         DEFAULT_TABLE_BITS = 18;
+
+    // Constantes internes
+    private static final int                        TIME_CHECK_MASK = 0xFF;
+
+    // Membres internes
+    private final ForkJoinPool                      pool;
+    @Getter
+    private final TranspositionTable                table;
+    private final ThreadLocal<SearchContext>        contexts;
+
+    /**
+     * Constructeur
+     * @param pool Pool d'exécution
+     * @param tableBits Logarithme en base 2 du nombre d'entrées de la table de transposition
+     */
+    public MoveSearch(ForkJoinPool pool, int tableBits) {
+        this.pool = pool;
+        this.table = new TranspositionTable(tableBits);
+        this.contexts = new ThreadLocal<>();
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée un moteur de recherche utilisant le pool commun
+     * @return MoveSearch
+     * @since 0.0.1
+     */
+    public static MoveSearch of() {
+        return new MoveSearch(ForkJoinPool.commonPool(), DEFAULT_TABLE_BITS);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Recherche le meilleur coup d'un plateau
+     * @param board Plateau (non modifié)
+     * @param depth Nombre de plis explorés (au moins 1)
+     * @param timeBudgetNanos Budget de temps en nanosecondes (0 : illimité)
+     * @param nodeBudget Budget de positions évaluées (0 : illimité)
+     * @return SearchResult (coup null si aucun coup n'est légal)
+     * @since 0.0.1
+     */
+    public SearchResult search(TileBoard board, int depth, long timeBudgetNanos, long nodeBudget) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Profondeur de recherche invalide : " + depth);
+        }
+        long start = System.nanoTime();
+        Budget budget = new Budget(timeBudgetNanos > 0 ? start + timeBudgetNanos : Long.MAX_VALUE,
+                nodeBudget > 0 ? nodeBudget : Long.MAX_VALUE);
+        TileBoard root = board.copy();
+        int[] moves = new int[2 * root.getWidth() * root.getHeight()];
+        int count = Moves.find(root, moves);
+        List<MoveTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new MoveTask(root, moves[i], 0, depth, budget));
+        }
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        if (count > 0) {
+            this.pool.invoke(new RootTask(tasks));
+            for (int i = 0; i < count; i++) {
+                int score = tasks.get(i).getRawResult();
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = moves[i];
+                }
+            }
+        }
+        return SearchResult.of(bestMove >= 0 ? Move.of(bestMove, root.getWidth()) : null,
+                bestMove >= 0 ? bestScore : 0, budget.nodes.get(), !budget.stopped, System.nanoTime() - start);
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Évalue un coup joué sur un plateau : tuiles supprimées par sa cascade et meilleure valeur des plis suivants
+     * @param context Contexte de travail du thread
+     * @param board Plateau avant le coup
+     * @param move Coup
+     * @param ply Pli du coup (0 pour la racine)
+     * @param depth Nombre de plis restant à explorer, coup compris
+     * @param budget Budget de la recherche
+     * @return Valeur du coup
+     */
+    private int evaluate(SearchContext context, TileBoard board, int move, int ply, int depth, Budget budget) {
+        TileBoard child = context.board(ply).copyFrom(board);
+        Moves.play(context.resolver, child, move);
+        int value = context.resolver.getMatchedTotal();
+        budget.visit();
+        if (depth > 1 && !budget.stopped) {
+            value += this.best(context, child, ply + 1, depth - 1, budget);
+        }
+        return value;
+    }
+
+    /**
+     * Retourne la meilleure valeur accessible depuis un plateau
+     * @param context Contexte de travail du thread
+     * @param board Plateau
+     * @param ply Pli exploré
+     * @param depth Nombre de plis restant à explorer
+     * @param budget Budget de la recherche
+     * @return Meilleure valeur (0 si aucun coup n'est légal)
+     */
+    private int best(SearchContext context, TileBoard board, int ply, int depth, Budget budget) {
+        // Le hash est lu avant tout fork : en attendant ses sous-tâches, le thread peut en exécuter d'autres qui
+        // réutilisent ses plateaux de travail
+        long hash = board.getHash();
+        int cached = this.table.get(hash, depth);
+        if (cached != TranspositionTable.MISS) {
+            return cached;
+        }
+        int[] moves = context.moves(ply);
+        int count = Moves.find(board, moves);
+        int result = 0;
+        if (ply == 1 && depth > 1 && count > 1) {
+            List<MoveTask> tasks = new ArrayList<>(count);
+            TileBoard snapshot = board.copy();
+            for (int i = 0; i < count; i++) {
+                tasks.add(new MoveTask(snapshot, moves[i], ply, depth, budget));
+            }
+            for (MoveTask task : ForkJoinTask.invokeAll(tasks)) {
+                result = Math.max(result, task.getRawResult());
+            }
+        } else {
+            for (int i = 0; i < count && !budget.stopped; i++) {
+                result = Math.max(result, this.evaluate(context, board, moves[i], ply, depth, budget));
+            }
+        }
+        if (!budget.stopped) {
+            this.table.put(hash, depth, result);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le contexte de travail du thread courant, adapté aux dimensions du plateau
+     * @param board Plateau
+     * @return SearchContext
+     */
+    private SearchContext context(TileBoard board) {
+        SearchContext context = this.contexts.get();
+        if (context == null || context.width != board.getWidth() || context.height != board.getHeight()) {
+            context = new SearchContext(board.getWidth(), board.getHeight());
+            this.contexts.set(context);
+        }
+        return context;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Budget partagé par toutes les tâches d'une recherche
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Budget {
+
+        // Membres internes
+        private final long                          deadline;
+        private final long                          maxNodes;
+        private final AtomicLong                    nodes = new AtomicLong();
+        private volatile boolean                    stopped;
+
+        /**
+         * Constructeur
+         * @param deadline Échéance (System.nanoTime)
+         * @param maxNodes Nombre maximal de positions évaluées
+         */
+        private Budget(long deadline, long maxNodes) {
+            this.deadline = deadline;
+            this.maxNodes = maxNodes;
+        }
+
+        /**
+         * Comptabilise une position évaluée et arrête la recherche si le budget est épuisé
+         */
+        private void visit() {
+            long visited = this.nodes.incrementAndGet();
+            if (visited >= this.maxNodes || ((visited & TIME_CHECK_MASK) == 0 && System.nanoTime() >= this.deadline)) {
+                this.stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Contexte de travail d'un thread : plateaux par pli, coups par pli et moteur de résolution
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class SearchContext {
+
+        // Membres internes
+        private final int                           width;
+        private final int                           height;
+        private final CascadeResolver               resolver;
+        private final List<TileBoard>               boards = new ArrayList<>();
+        private final List<int[]>                   moves = new ArrayList<>();
+
+        /**
+         * Constructeur
+         * @param width Largeur
+         * @param height Hauteur
+         */
+        private SearchContext(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.resolver = new CascadeResolver(width, height);
+        }
+
+        /**
+         * Retourne le plateau de travail d'un pli
+         * @param ply Pli
+         * @return TileBoard
+         */
+        private TileBoard board(int ply) {
+            while (this.boards.size() <= ply) {
+                this.boards.add(TileBoard.of(null, new PackedTileStorage(this.width, this.height)));
+            }
+            return this.boards.get(ply);
+        }
+
+        /**
+         * Retourne le tableau de coups d'un pli
+         * @param ply Pli
+         * @return int[]
+         */
+        private int[] moves(int ply) {
+            while (this.moves.size() <= ply) {
+                this.moves.add(new int[2 * this.width * this.height]);
+            }
+            return this.moves.get(ply);
+        }
+    }
+
+    /**
+     * Tâche d'évaluation d'un coup
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private final class MoveTask extends RecursiveTask<Integer> {
+
+        // Serial
+        private static final long serialVersionUID = 1L;
+
+        // Membres internes
+        private final TileBoard                     board;
+        private final int                           move;
+        private final int                           ply;
+        private final int                           depth;
+        private final Budget                        budget;
+
+        /**
+         * Constructeur
+         * @param board Plateau avant le coup (partagé en lecture seule)
+         * @param move Coup
+         * @param ply Pli du coup
+         * @param depth Nombre de plis restant à explorer, coup compris
+         * @param budget Budget de la recherche
+         */
+        private MoveTask(TileBoard board, int move, int ply, int depth, Budget budget) {
+            this.board = board;
+            this.move = move;
+            this.ply = ply;
+            this.depth = depth;
+            this.budget = budget;
+        }
+
+        @Override
+        protected Integer compute() {
+            return evaluate(context(this.board), this.board, this.move, this.ply, this.depth, this.budget);
+        }
+    }
+
+    /**
+     * Tâche racine : lance l'évaluation de tous les coups racine
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class RootTask extends RecursiveTask<Void> {
+
+        // Serial
+        private static final long serialVersionUID = 1L;
+
+        // Membres internes
+        private final List<MoveTask>                tasks;
+
+        /**
+         * Constructeur
+         * @param tasks Tâches des coups racine
+         */
+        private RootTask(List<MoveTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected Void compute() {
+            invokeAll(this.tasks);
+            return null;
+        }
+    }
+}
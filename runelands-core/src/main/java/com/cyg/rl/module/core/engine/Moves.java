@@ -0,0 +1,172 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.board.BoardGeometry;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+
+/**
+ * =================================================================================================================
+ * Helper de manipulation des coups sous forme entière : (index de la case << 1) | direction, l'index valant
+ * y * width + x et la direction 0 pour un échange avec la case de droite, 1 avec la case du dessous.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class Moves {
+
+    /**
+     * Constructeur privé
+     */
+    private Moves() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Code un coup
+     * @param x Colonne de la première case
+     * @param y Ligne de la première case
+     * @param vertical Vrai pour un échange avec la case du dessous, faux avec la case de droite
+     * @param width Largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public static int of(int x, int y, boolean vertical, int width) {
+        return ((y * width + x) << 1) | (vertical ? 1 : 0);
+    }
+
+    /**
+     * Retourne la colonne de la première case d'un coup
+     * @param move Coup
+     * @param width Largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public static int x(int move, int width) {
+        return (move >>> 1) % width;
+    }
+
+    /**
+     * Retourne la ligne de la première case d'un coup
+     * @param move Coup
+     * @param width Largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public static int y(int move, int width) {
+        return (move >>> 1) / width;
+    }
+
+    /**
+     * Retourne la colonne de la seconde case d'un coup
+     * @param move Coup
+     * @param width Largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public static int toX(int move, int width) {
+        return x(move, width) + ((move & 1) ^ 1);
+    }
+
+    /**
+     * Retourne la ligne de la seconde case d'un coup
+     * @param move Coup
+     * @param width Largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public static int toY(int move, int width) {
+        return y(move, width) + (move & 1);
+    }
+
+    /**
+     * Applique un coup et résout la cascade qui en découle
+     * @param resolver Moteur de résolution
+     * @param board Plateau
+     * @param move Coup
+     * @return Vrai si le coup a produit au moins un alignement
+     * @since 0.0.1
+     */
+    public static boolean play(CascadeResolver resolver, TileBoard board, int move) {
+        int width = board.getWidth();
+        return resolver.swap(board, x(move, width), y(move, width), toX(move, width), toY(move, width));
+    }
+
+    /**
+     * Liste les coups légaux d'un plateau : échanges de deux cases adjacentes produisant au moins un alignement
+     * @param board Plateau
+     * @param moves Tableau résultat, d'au moins 2 * width * height cases
+     * @return Nombre de coups trouvés
+     * @since 0.0.1
+     */
+    public static int find(TileBoard board, int[] moves) {
+        TileStorage storage = board.getStorage();
+        BoardGeometry geometry = board.getGeometry();
+        int count = 0;
+        for (int index = 0, size = geometry.size(); index < size; index++) {
+            int right = geometry.neighbor(index, BoardGeometry.RIGHT);
+            if (right >= 0 && isLegal(storage, geometry, index, right)) {
+                moves[count++] = index << 1;
+            }
+            int down = geometry.neighbor(index, BoardGeometry.DOWN);
+            if (down >= 0 && isLegal(storage, geometry, index, down)) {
+                moves[count++] = (index << 1) | 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Indique si l'échange de deux cases adjacentes produit au moins un alignement, sans modifier le plateau
+     * @param board Plateau
+     * @param x1 Colonne de la première case
+     * @param y1 Ligne de la première case
+     * @param x2 Colonne de la seconde case
+     * @param y2 Ligne de la seconde case
+     * @return boolean
+     * @since 0.0.1
+     */
+    public static boolean isLegal(TileBoard board, int x1, int y1, int x2, int y2) {
+        BoardGeometry geometry = board.getGeometry();
+        return isLegal(board.getStorage(), geometry, geometry.index(x1, y1), geometry.index(x2, y2));
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Indique si l'échange de deux cases adjacentes produit au moins un alignement
+     * @param storage Stockage
+     * @param geometry Géométrie du stockage
+     * @param first Index de la première case
+     * @param second Index de la seconde case
+     * @return boolean
+     */
+    private static boolean isLegal(TileStorage storage, BoardGeometry geometry, int first, int second) {
+        byte firstColor = storage.get(geometry.x(first), geometry.y(first));
+        byte secondColor = storage.get(geometry.x(second), geometry.y(second));
+        if (firstColor == secondColor || firstColor == TileStorage.EMPTY || secondColor == TileStorage.EMPTY) {
+            return false;
+        }
+        return makesRun(storage, geometry, second, firstColor, first) || makesRun(storage, geometry, first, secondColor, second);
+    }
+
+    /**
+     * Indique si une couleur posée sur une case formerait un alignement, la case d'origine de la tuile étant
+     * exclue du décompte (elle contient désormais l'autre tuile de l'échange)
+     * @param storage Stockage
+     * @param geometry Géométrie du stockage
+     * @param index Index de la case cible
+     * @param color Couleur posée
+     * @param from Index de la case d'origine
+     * @return boolean
+     */
+    private static boolean makesRun(TileStorage storage, BoardGeometry geometry, int index, byte color, int from) {
+        int horizontal = 1 + geometry.run(storage, index, BoardGeometry.LEFT, color, from)
+                + geometry.run(storage, index, BoardGeometry.RIGHT, color, from);
+        if (horizontal >= CascadeResolver.MIN_MATCH) {
+            return true;
+        }
+        int vertical = 1 + geometry.run(storage, index, BoardGeometry.UP, color, from)
+                + geometry.run(storage, index, BoardGeometry.DOWN, color, from);
+        return vertical >= CascadeResolver.MIN_MATCH;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cyg.rl.module.core.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * =================================================================================================================
+ * Résultat d'une recherche de coup
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class SearchResult {
+
+    // Membres internes
+    private Move            move;
+    private int             score;
+    private long            nodes;
+    private boolean         complete;
+    private long            elapsedNanos;
+}
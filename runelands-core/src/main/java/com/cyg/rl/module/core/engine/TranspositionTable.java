@@ -0,0 +1,86 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.generator.TileRandom;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Table de transposition partagée entre threads, indexée par hash de plateau et profondeur restante.
+ * Chaque entrée occupe deux long (clé XOR valeur, valeur) écrits sans verrou : une lecture dont la clé ne se
+ * vérifie pas (écriture concurrente ou collision) est simplement considérée comme absente.
+ * En cas de collision, la dernière écriture remplace l'entrée précédente.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TranspositionTable {
+
+    // Constantes publiques
+    public static final int                         MISS = Integer.MIN_VALUE;
+
+    // Membres internes
+    private final long[]                            entries;
+    private final int                               mask;
+
+    /**
+     * Constructeur
+     * @param bits Logarithme en base 2 du nombre d'entrées
+     */
+    public TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28) {
+            throw new IllegalArgumentException("Taille de table invalide : 2^" + bits);
+        }
+        this.entries = new long[2 << bits];
+        this.mask = (1 << bits) - 1;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne la valeur associée à un plateau pour une profondeur restante
+     * @param hash Hash du plateau
+     * @param depth Profondeur restante
+     * @return La valeur, ou MISS si elle est absente
+     * @since 0.0.1
+     */
+    public int get(long hash, int depth) {
+        long key = key(hash, depth);
+        int slot = ((int) key & this.mask) << 1;
+        long value = this.entries[slot + 1];
+        return (this.entries[slot] ^ value) == key ? (int) value : MISS;
+    }
+
+    /**
+     * Enregistre la valeur associée à un plateau pour une profondeur restante
+     * @param hash Hash du plateau
+     * @param depth Profondeur restante
+     * @param value Valeur
+     * @since 0.0.1
+     */
+    public void put(long hash, int depth, int value) {
+        long key = key(hash, depth);
+        int slot = ((int) key & this.mask) << 1;
+        this.entries[slot] = key ^ value;
+        this.entries[slot + 1] = value;
+    }
+
+    /**
+     * Vide la table
+     * @since 0.0.1
+     */
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Calcule la clé d'une entrée
+     * @param hash Hash du plateau
+     * @param depth Profondeur restante
+     * @return long
+     */
+    private static long key(long hash, int depth) {
+        return hash ^ TileRandom.mix(depth + 1);
+    }
+}
@@ -0,0 +1,153 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.types.TileColor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * =================================================================================================================
+ * Paquet de tuiles partagé entre plusieurs plateaux (GLOBAL_DECK), sans verrou.
+ * Un lot de K tuiles est réservé par un unique getAndAdd sur le curseur global : la position p du flux correspond
+ * à la carte p % taille du tour de paquet p / taille. Chaque tour est un tableau primitif mélangé de façon
+ * déterministe à partir de la graine et du numéro de tour (DeckTileSource.shuffle) : le tour suivant est préparé
+ * à l'avance par le premier lecteur qui passe la moitié du tour courant et publié par CAS, sans jamais bloquer
+ * les autres lecteurs. Un lecteur distancé de plusieurs tours recalcule simplement le mélange dont il a besoin.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ConcurrentTileDeck implements TileSource {
+
+    // Constantes internes
+    private static final int                        SLOTS = 4;
+
+    // Membres internes
+    private final long                              seed;
+    private final int                               size;
+    private final AtomicLong                        cursor;
+    private final AtomicReferenceArray<Round>       rounds;
+
+    /**
+     * Constructeur
+     * @param copies Nombre d'exemplaires de chaque couleur dans le paquet
+     * @param seed Graine du paquet
+     */
+    public ConcurrentTileDeck(int copies, long seed) {
+        if (copies <= 0) {
+            throw new IllegalArgumentException("Nombre d'exemplaires invalide : " + copies);
+        }
+        this.seed = seed;
+        this.size = copies * TileColor.count();
+        this.cursor = new AtomicLong();
+        this.rounds = new AtomicReferenceArray<>(SLOTS);
+        this.rounds.set(0, this.shuffle(0L));
+    }
+
+    // ---------------------------------------------- TileSource ----------------------------------------------
+    @Override
+    public void fill(byte[] target, int offset, int count) {
+        long position = this.cursor.getAndAdd(count);
+        while (count > 0) {
+            long number = position / this.size;
+            int index = (int) (position % this.size);
+            int length = Math.min(count, this.size - index);
+            System.arraycopy(this.round(number).cards, index, target, offset, length);
+            if (index + length > this.size >>> 1) {
+                this.prepare(number + 1);
+            }
+            position += length;
+            offset += length;
+            count -= length;
+        }
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de tuiles distribuées depuis la création du paquet
+     * @return long
+     * @since 0.0.1
+     */
+    public long getPosition() {
+        return this.cursor.get();
+    }
+
+    /**
+     * Retourne la taille d'un tour de paquet
+     * @return int
+     * @since 0.0.1
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Retourne le mélange d'un tour de paquet, en le préparant s'il n'est pas encore publié
+     * @param number Numéro de tour
+     * @return Round
+     */
+    private Round round(long number) {
+        Round round = this.rounds.get((int) (number % SLOTS));
+        if (round != null && round.number == number) {
+            return round;
+        }
+        return round != null && round.number > number ? this.shuffle(number) : this.prepare(number);
+    }
+
+    /**
+     * Publie le mélange d'un tour de paquet dans son emplacement, s'il n'y est pas déjà.
+     * Plusieurs lecteurs peuvent préparer le même tour en parallèle : le mélange étant déterministe, peu importe
+     * lequel est publié.
+     * @param number Numéro de tour
+     * @return Round
+     */
+    private Round prepare(long number) {
+        int slot = (int) (number % SLOTS);
+        Round current = this.rounds.get(slot);
+        while (current == null || current.number < number) {
+            Round next = this.shuffle(number);
+            if (this.rounds.compareAndSet(slot, current, next)) {
+                return next;
+            }
+            current = this.rounds.get(slot);
+        }
+        return current.number == number ? current : this.shuffle(number);
+    }
+
+    /**
+     * Calcule le mélange d'un tour de paquet
+     * @param number Numéro de tour
+     * @return Round
+     */
+    private Round shuffle(long number) {
+        byte[] cards = new byte[this.size];
+        DeckTileSource.shuffle(cards, this.seed, number);
+        return new Round(number, cards);
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Tour de paquet mélangé, immuable une fois publié
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Round {
+
+        // Membres internes
+        private final long                          number;
+        private final byte[]                        cards;
+
+        /**
+         * Constructeur
+         * @param number Numéro de tour
+         * @param cards Cartes mélangées
+         */
+        private Round(long number, byte[] cards) {
+            this.number = number;
+            this.cards = cards;
+        }
+    }
+}
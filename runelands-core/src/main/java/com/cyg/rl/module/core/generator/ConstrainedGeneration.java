@@ -0,0 +1,212 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Génération d'un plateau sans alignement initial, en une seule passe.
+ * Les cases sont produites dans l'ordre de lecture (ligne par ligne, de gauche à droite), comme une génération
+ * classique ; chaque case exclut les couleurs qui compléteraient un alignement avec ses deux voisines de gauche
+ * ou ses deux voisines du dessus (au plus deux couleurs). Aucune case n'est jamais regénérée :
+ * - une source sélective (SelectiveTileSource, tirages aléatoires) tire directement parmi les couleurs
+ * autorisées, en un seul tirage ;
+ * - les autres sources (paquets) distribuent leurs cartes dans l'ordre : une carte interdite sur la case courante
+ * est mise en attente et posée sur la première case suivante qui l'autorise. Les cartes encore en attente en fin
+ * de génération sont rendues par la source retournée avant celles de la source d'origine : toutes les cartes
+ * distribuées finissent sur le plateau, chaque tour de paquet reste exactement équilibré et la source d'origine
+ * n'est jamais réordonnée. Les cartes en attente sont portées par la source retournée (TileBoard.getSource()) et
+ * ne figurent pas dans getData() de la source d'origine : cet état seul ne suffit pas à reprendre la distribution.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class ConstrainedGeneration {
+
+    /**
+     * Constructeur privé
+     */
+    private ConstrainedGeneration() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Remplit toutes les cases d'un stockage sans alignement initial
+     * @param storage Stockage
+     * @param source Source de tuiles
+     * @return Source à utiliser pour la suite (la source d'origine, précédée des cartes restées en attente)
+     * @since 0.0.1
+     */
+    public static TileSource generate(@NonNull TileStorage storage, @NonNull TileSource source) {
+        int width = storage.getWidth();
+        int height = storage.getHeight();
+        Pending pending = new Pending(source);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int forbidden = 0;
+                if (x >= 2) {
+                    forbidden |= pair(storage.get(x - 1, y), storage.get(x - 2, y));
+                }
+                if (y >= 2) {
+                    forbidden |= pair(storage.get(x, y - 1), storage.get(x, y - 2));
+                }
+                storage.set(x, y, pending.next(SelectiveTileSource.ALL_COLORS & ~forbidden));
+            }
+        }
+        return pending.remainder();
+    }
+
+    /**
+     * Remplit un tableau de cases (ligne par ligne) sans alignement initial
+     * @param cells Cases, index y * width + x
+     * @param width Largeur
+     * @param height Hauteur
+     * @param source Source de tuiles
+     * @return Source à utiliser pour la suite (la source d'origine, précédée des cartes restées en attente)
+     * @since 0.0.1
+     */
+    public static TileSource fill(@NonNull byte[] cells, int width, int height, @NonNull TileSource source) {
+        if (cells.length < width * height) {
+            throw new IllegalArgumentException("Tableau de " + cells.length + " cases trop petit pour " + width + "x" + height);
+        }
+        Pending pending = new Pending(source);
+        for (int y = 0, index = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, index++) {
+                int forbidden = 0;
+                if (x >= 2) {
+                    forbidden |= pair(cells[index - 1], cells[index - 2]);
+                }
+                if (y >= 2) {
+                    forbidden |= pair(cells[index - width], cells[index - 2 * width]);
+                }
+                cells[index] = pending.next(SelectiveTileSource.ALL_COLORS & ~forbidden);
+            }
+        }
+        return pending.remainder();
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Retourne la couleur interdite par deux voisines alignées
+     * @param first Voisine la plus proche
+     * @param second Voisine suivante
+     * @return Masque de la couleur commune, ou 0
+     */
+    private static int pair(byte first, byte second) {
+        return first == second && first != TileStorage.EMPTY ? 1 << first : 0;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Cartes distribuées mais pas encore posées, dans leur ordre de distribution. Les tableaux sont alloués par
+     * génération, jamais par tuile ; une carte est mise en attente au plus une fois.
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Pending {
+
+        // Membres internes
+        private final TileSource                    source;
+        private final SelectiveTileSource           selective;
+        private final byte[]                        card;
+        private byte[]                              cards;
+        private int                                 count;
+
+        /**
+         * Constructeur
+         * @param source Source de tuiles
+         */
+        private Pending(TileSource source) {
+            this.card = new byte[1];
+            this.cards = new byte[16];
+            if (source instanceof Deferred) {
+                // Cartes laissées par une génération précédente : elles restent prioritaires, sans empiler les sources
+                Deferred deferred = (Deferred) source;
+                this.count = deferred.cards.length - deferred.cursor;
+                this.cards = Arrays.copyOfRange(deferred.cards, deferred.cursor, deferred.cursor + Math.max(16, this.count));
+                source = deferred.source;
+            }
+            this.source = source;
+            this.selective = source instanceof SelectiveTileSource ? (SelectiveTileSource) source : null;
+        }
+
+        /**
+         * Retourne la plus ancienne carte en attente autorisée, ou à défaut une tuile autorisée de la source : tirée
+         * directement parmi les couleurs autorisées pour une source sélective, sinon la première carte autorisée
+         * distribuée, les cartes interdites étant mises en attente
+         * @param allowed Masque des couleurs autorisées
+         * @return Ordinal de TileColor
+         */
+        private byte next(int allowed) {
+            for (int i = 0; i < this.count; i++) {
+                byte color = this.cards[i];
+                if ((allowed & (1 << color)) != 0) {
+                    System.arraycopy(this.cards, i + 1, this.cards, i, --this.count - i);
+                    return color;
+                }
+            }
+            if (this.selective != null) {
+                return this.selective.next(allowed);
+            }
+            // Un tour de paquet contient toutes les couleurs : la distribution aboutit en moins d'un tour
+            while (true) {
+                this.source.fill(this.card, 0, 1);
+                byte color = this.card[0];
+                if ((allowed & (1 << color)) != 0) {
+                    return color;
+                }
+                if (this.count == this.cards.length) {
+                    this.cards = Arrays.copyOf(this.cards, this.count * 2);
+                }
+                this.cards[this.count++] = color;
+            }
+        }
+
+        /**
+         * Retourne la source à utiliser après la génération
+         * @return TileSource
+         */
+        private TileSource remainder() {
+            return this.count == 0 ? this.source : new Deferred(Arrays.copyOf(this.cards, this.count), this.source);
+        }
+    }
+
+    /**
+     * Source rendant d'abord les cartes restées en attente, puis celles de la source d'origine
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Deferred implements TileSource {
+
+        // Membres internes
+        private final byte[]                        cards;
+        private final TileSource                    source;
+        private int                                 cursor;
+
+        /**
+         * Constructeur
+         * @param cards Cartes en attente
+         * @param source Source d'origine
+         */
+        private Deferred(byte[] cards, TileSource source) {
+            this.cards = cards;
+            this.source = source;
+        }
+
+        // ---------------------------------------------- TileSource ----------------------------------------------
+        @Override
+        public void fill(byte[] target, int offset, int count) {
+            int length = Math.min(count, this.cards.length - this.cursor);
+            System.arraycopy(this.cards, this.cursor, target, offset, length);
+            this.cursor += length;
+            if (count > length) {
+                this.source.fill(target, offset + length, count - length);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.models.TileGeneratorData;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.Getter;
+
+/**
+ * =================================================================================================================
+ * Source de tuiles à base de paquet propre à un plateau (LOCAL_DECK) : le paquet contient le même nombre
+ * d'exemplaires de chaque couleur ; il est mélangé, distribué, puis remélangé une fois épuisé.
+ * Chaque tour de paquet est mélangé à partir de la composition d'origine et d'une graine dérivée du numéro de
+ * tour, ce qui permet de repositionner la source sans rejouer les tirages précédents.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class DeckTileSource implements TileSource {
+
+    // Membres internes
+    @Getter
+    private final long                              seed;
+    private final byte[]                            cards;
+    private long                                    round;
+    private int                                     cursor;
+
+    /**
+     * Constructeur
+     * @param copies Nombre d'exemplaires de chaque couleur dans le paquet
+     * @param seed Graine
+     * @param position Position de départ (nombre de tuiles déjà distribuées)
+     */
+    public DeckTileSource(int copies, long seed, long position) {
+        if (copies <= 0) {
+            throw new IllegalArgumentException("Nombre d'exemplaires invalide : " + copies);
+        }
+        this.seed = seed;
+        this.cards = new byte[copies * TileColor.count()];
+        this.round = position / this.cards.length;
+        this.cursor = (int) (position % this.cards.length);
+        shuffle(this.cards, seed, this.round);
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Remplit un paquet avec sa composition d'origine (le même nombre d'exemplaires de chaque couleur) puis le
+     * mélange (Fisher-Yates) avec la graine dérivée du numéro de tour
+     * @param cards Paquet, dont la taille est un multiple du nombre de couleurs
+     * @param seed Graine
+     * @param round Numéro de tour de paquet
+     * @since 0.0.1
+     */
+    public static void shuffle(byte[] cards, long seed, long round) {
+        int colors = TileColor.count();
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % colors);
+        }
+        long roundSeed = TileRandom.derive(seed, round);
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = TileRandom.bounded(TileRandom.at(roundSeed, i), i + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    // ---------------------------------------------- TileSource ----------------------------------------------
+    @Override
+    public void fill(byte[] target, int offset, int count) {
+        while (count > 0) {
+            if (this.cursor == this.cards.length) {
+                shuffle(this.cards, this.seed, ++this.round);
+                this.cursor = 0;
+            }
+            int length = Math.min(count, this.cards.length - this.cursor);
+            System.arraycopy(this.cards, this.cursor, target, offset, length);
+            this.cursor += length;
+            offset += length;
+            count -= length;
+        }
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de tuiles distribuées depuis le début du flux
+     * @return long
+     * @since 0.0.1
+     */
+    public long getPosition() {
+        return this.round * this.cards.length + this.cursor;
+    }
+
+    /**
+     * Retourne l'état de la source, permettant de la recréer à l'identique
+     * @return TileGeneratorData
+     * @since 0.0.1
+     */
+    public TileGeneratorData getData() {
+        return TileGeneratorData.of(TileGeneratorType.LOCAL_DECK, this.seed, this.getPosition());
+    }
+}
@@ -0,0 +1,59 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.models.TileGeneratorData;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.Getter;
+
+/**
+ * =================================================================================================================
+ * Source de tuiles aléatoire propre à un plateau (LOCAL_RANDOM) : chaque couleur est tirée uniformément (parmi
+ * les couleurs autorisées, en génération contrainte).
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Getter
+public class RandomTileSource implements SelectiveTileSource {
+
+    // Membres internes
+    private final long                              seed;
+    private long                                    position;
+
+    /**
+     * Constructeur
+     * @param seed Graine
+     * @param position Position de départ dans le flux
+     */
+    public RandomTileSource(long seed, long position) {
+        this.seed = seed;
+        this.position = position;
+    }
+
+    // ---------------------------------------------- TileSource ----------------------------------------------
+    @Override
+    public void fill(byte[] target, int offset, int count) {
+        long seed = this.seed;
+        long position = this.position;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            target[i] = TileRandom.color(seed, position++);
+        }
+        this.position = position;
+    }
+
+    // ---------------------------------------------- SelectiveTileSource ----------------------------------------------
+    @Override
+    public byte next(int allowed) {
+        return TileRandom.pick(TileRandom.at(this.seed, this.position++), allowed);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne l'état de la source, permettant de la recréer à l'identique
+     * @return TileGeneratorData
+     * @since 0.0.1
+     */
+    public TileGeneratorData getData() {
+        return TileGeneratorData.of(TileGeneratorType.LOCAL_RANDOM, this.seed, this.position);
+    }
+}
@@ -0,0 +1,29 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.types.TileColor;
+
+/**
+ * =================================================================================================================
+ * Interface représentant une source de tuiles capable de tirer directement parmi un sous-ensemble de couleurs,
+ * en un seul tirage et sans changer sa répartition sur les couleurs autorisées. La génération contrainte
+ * (ConstrainedGeneration) s'en sert pour les sources aléatoires ; les paquets, qui doivent distribuer leurs
+ * cartes dans l'ordre, n'en font pas partie.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public interface SelectiveTileSource extends TileSource {
+
+    // Constantes publiques
+    int                                             ALL_COLORS = (1 << TileColor.count()) - 1;
+
+    /**
+     * Produit une tuile dont la couleur fait partie des couleurs autorisées, en avançant la source d'une seule
+     * position
+     * @param allowed Masque des couleurs autorisées (bit 1 &lt;&lt; ordinal), non vide
+     * @return Ordinal de TileColor
+     * @since 0.0.1
+     */
+    byte next(int allowed);
+}
@@ -0,0 +1,55 @@
+package com.cyg.rl.module.core.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * =================================================================================================================
+ * Source de tuiles aléatoire partagée entre plusieurs plateaux (GLOBAL_RANDOM).
+ * Un lot de tuiles est réservé par un unique getAndAdd sur la position du flux : la source est thread-safe et
+ * sans verrou, et chaque lot reçoit des tuiles distinctes du flux global.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class SharedRandomTileSource implements SelectiveTileSource {
+
+    // Membres internes
+    private final long                              seed;
+    private final AtomicLong                        position;
+
+    /**
+     * Constructeur
+     * @param seed Graine du flux global
+     */
+    public SharedRandomTileSource(long seed) {
+        this.seed = seed;
+        this.position = new AtomicLong();
+    }
+
+    // ---------------------------------------------- TileSource ----------------------------------------------
+    @Override
+    public void fill(byte[] target, int offset, int count) {
+        long seed = this.seed;
+        long position = this.position.getAndAdd(count);
+        for (int i = offset, end = offset + count; i < end; i++) {
+            target[i] = TileRandom.color(seed, position++);
+        }
+    }
+
+    // ---------------------------------------------- SelectiveTileSource ----------------------------------------------
+    @Override
+    public byte next(int allowed) {
+        return TileRandom.pick(TileRandom.at(this.seed, this.position.getAndIncrement()), allowed);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de tuiles distribuées depuis la création de la source
+     * @return long
+     * @since 0.0.1
+     */
+    public long getPosition() {
+        return this.position.get();
+    }
+}
@@ -0,0 +1,109 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.types.TileColor;
+
+/**
+ * =================================================================================================================
+ * Helper de génération pseudo-aléatoire à base de compteur (SplitMix64) : la valeur d'une position se calcule
+ * directement à partir de la graine, sans état à faire évoluer. Un flux est donc reproductible, repositionnable
+ * en O(1) et partageable entre threads avec un simple compteur atomique.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class TileRandom {
+
+    // Constantes publiques
+    public static final long                        GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Constructeur privé
+     */
+    private TileRandom() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Fonction de mélange 64 bits de SplitMix64
+     * @param value Valeur à mélanger
+     * @return long
+     * @since 0.0.1
+     */
+    public static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Retourne la valeur pseudo-aléatoire d'une position d'un flux
+     * @param seed Graine du flux
+     * @param position Position dans le flux
+     * @return long
+     * @since 0.0.1
+     */
+    public static long at(long seed, long position) {
+        return mix(seed + (position + 1) * GAMMA);
+    }
+
+    /**
+     * Réduit une valeur pseudo-aléatoire à l'intervalle [0, bound[
+     * @param value Valeur pseudo-aléatoire
+     * @param bound Borne exclue
+     * @return int
+     * @since 0.0.1
+     */
+    public static int bounded(long value, int bound) {
+        return (int) (((value >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Retourne l'ordinal de couleur d'une position d'un flux, avec une répartition uniforme
+     * @param seed Graine du flux
+     * @param position Position dans le flux
+     * @return Ordinal de TileColor
+     * @since 0.0.1
+     */
+    public static byte color(long seed, long position) {
+        return (byte) bounded(at(seed, position), TileColor.count());
+    }
+
+    /**
+     * Choisit uniformément une couleur parmi les couleurs autorisées. Avec toutes les couleurs autorisées, le
+     * résultat est celui de color() pour la même valeur.
+     * @param value Valeur pseudo-aléatoire
+     * @param allowed Masque des couleurs autorisées (bit 1 &lt;&lt; ordinal), non vide
+     * @return Ordinal de TileColor
+     * @since 0.0.1
+     */
+    public static byte pick(long value, int allowed) {
+        checkAllowed(allowed);
+        for (int n = bounded(value, Integer.bitCount(allowed)); n > 0; n--) {
+            allowed &= allowed - 1;
+        }
+        return (byte) Integer.numberOfTrailingZeros(allowed);
+    }
+
+    /**
+     * Vérifie qu'un masque de couleurs autorisées n'est pas vide
+     * @param allowed Masque des couleurs autorisées
+     * @since 0.0.1
+     */
+    public static void checkAllowed(int allowed) {
+        if ((allowed & SelectiveTileSource.ALL_COLORS) == 0 || (allowed & ~SelectiveTileSource.ALL_COLORS) != 0) {
+            throw new IllegalArgumentException("Masque de couleurs autorisées invalide : " + Integer.toBinaryString(allowed));
+        }
+    }
+
+    /**
+     * Dérive une graine indépendante à partir d'une graine et d'un discriminant (numéro de partie, de tour...)
+     * @param seed Graine d'origine
+     * @param salt Discriminant
+     * @return long
+     * @since 0.0.1
+     */
+    public static long derive(long seed, long salt) {
+        return mix(mix(seed) ^ (salt * GAMMA));
+    }
+}
@@ -0,0 +1,23 @@
+package com.cyg.rl.module.core.generator;
+
+/**
+ * =================================================================================================================
+ * Interface représentant une source de tuiles : fournit des ordinaux de TileColor par lots, directement dans
+ * le tableau cible, sans allocation par tuile.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@FunctionalInterface
+public interface TileSource {
+
+    /**
+     * Écrit count ordinaux de couleur dans target à partir de offset
+     * @param target Tableau cible
+     * @param offset Index de la première case à écrire
+     * @param count Nombre de tuiles à produire
+     * @since 0.0.1
+     */
+    void fill(byte[] target, int offset, int count);
+}
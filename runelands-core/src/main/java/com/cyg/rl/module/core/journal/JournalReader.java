@@ -0,0 +1,146 @@
+package com.cyg.rl.module.core.journal;
+
+import com.cyg.rl.module.core.codec.VarInts;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * =================================================================================================================
+ * Lecteur séquentiel d'un journal de parties (voir MoveJournal) : les segments sont parcourus dans l'ordre et
+ * chaque enregistrement est transmis à un JournalVisitor.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class JournalReader {
+
+    // Constantes internes
+    private static final TileGeneratorType[]        GENERATOR_TYPES = TileGeneratorType.values();
+    private static final EffectType[]               EFFECT_TYPES = EffectType.values();
+    private static final EffectTarget[]             EFFECT_TARGETS = EffectTarget.values();
+
+    /**
+     * Constructeur privé
+     */
+    private JournalReader() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Lit tous les segments d'un répertoire
+     * @param directory Répertoire du journal
+     * @param visitor Destinataire des enregistrements
+     * @return Nombre d'enregistrements lus
+     * @throws IOException En cas d'erreur de lecture ou de segment invalide
+     * @since 0.0.1
+     */
+    public static long read(@NonNull Path directory, @NonNull JournalVisitor visitor) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(MoveJournal.SEGMENT_PREFIX) && name.endsWith(MoveJournal.SEGMENT_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+        long count = 0L;
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                count += readSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()), visitor, segment);
+            }
+        }
+        return count;
+    }
+
+    // ------------ Méthodes statiques privées ---------------
+    /**
+     * Lit les enregistrements d'un segment jusqu'au marqueur de fin
+     * @param in Segment projeté
+     * @param visitor Destinataire des enregistrements
+     * @param path Chemin du segment, pour les messages d'erreur
+     * @return Nombre d'enregistrements lus
+     * @throws IOException Si le segment est invalide
+     */
+    private static long readSegment(MappedByteBuffer in, JournalVisitor visitor, Path path) throws IOException {
+        if (in.remaining() < Integer.BYTES || in.getInt() != MoveJournal.MAGIC) {
+            throw new IOException("Segment de journal invalide : " + path);
+        }
+        long count = 0L;
+        while (in.hasRemaining()) {
+            int position = in.position();
+            int kind = in.get();
+            if (kind == MoveJournal.END) {
+                break;
+            }
+            long matchId = VarInts.getUnsignedLong(in);
+            switch (kind) {
+                case MoveJournal.START: {
+                    int width = VarInts.getUnsigned(in);
+                    int height = VarInts.getUnsigned(in);
+                    long boardSeed = in.getLong();
+                    int type = in.get() & 0xFF;
+                    long generatorSeed = in.getLong();
+                    int copies = VarInts.getUnsigned(in);
+                    boolean constrained = (type & MoveJournal.CONSTRAINED) != 0;
+                    type &= ~MoveJournal.CONSTRAINED;
+                    visitor.onStart(matchId, width, height, boardSeed,
+                            type > 0 ? GENERATOR_TYPES[checkIndex(type - 1, GENERATOR_TYPES.length, position, path)] : null,
+                            generatorSeed, copies, constrained);
+                    break;
+                }
+                case MoveJournal.PLAYER:
+                    visitor.onPlayer(matchId, VarInts.getUnsigned(in), VarInts.getSigned(in));
+                    break;
+                case MoveJournal.MOVE:
+                    visitor.onMove(matchId, VarInts.getUnsigned(in), VarInts.getSigned(in));
+                    break;
+                case MoveJournal.EFFECT: {
+                    int player = VarInts.getUnsigned(in);
+                    EffectType type = EFFECT_TYPES[checkIndex(in.get() & 0xFF, EFFECT_TYPES.length, position, path)];
+                    EffectTarget target = EFFECT_TARGETS[checkIndex(in.get() & 0xFF, EFFECT_TARGETS.length, position, path)];
+                    visitor.onEffect(matchId, player, type, target, VarInts.getSigned(in));
+                    break;
+                }
+                case MoveJournal.RESHUFFLE:
+                    visitor.onReshuffle(matchId);
+                    break;
+                case MoveJournal.FINISH:
+                    visitor.onEnd(matchId, VarInts.getSigned(in));
+                    break;
+                default:
+                    throw new IOException("Type d'enregistrement inconnu " + kind + " dans " + path);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Vérifie qu'un ordinal lu dans un enregistrement désigne une valeur connue
+     * @param index Ordinal lu
+     * @param length Nombre de valeurs connues
+     * @param position Position de l'enregistrement dans le segment
+     * @param path Chemin du segment, pour les messages d'erreur
+     * @return L'ordinal vérifié
+     * @throws IOException Si l'ordinal est hors bornes
+     */
+    private static int checkIndex(int index, int length, int position, Path path) throws IOException {
+        if (index < 0 || index >= length) {
+            throw new IOException("Enregistrement corrompu à la position " + position + " dans " + path
+                    + " : ordinal " + index + " hors bornes");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,82 @@
+package com.cyg.rl.module.core.journal;
+
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+
+/**
+ * =================================================================================================================
+ * Interface de réception des enregistrements lus dans un journal de parties (voir JournalReader).
+ * Toutes les méthodes ont une implémentation vide : il suffit de redéfinir celles qui intéressent le lecteur.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public interface JournalVisitor {
+
+    /**
+     * Début d'une partie
+     * @param matchId Identifiant de la partie
+     * @param width Largeur du plateau
+     * @param height Hauteur du plateau
+     * @param boardSeed Graine du plateau
+     * @param generatorType Type de générateur (null pour le type par défaut)
+     * @param generatorSeed Graine du générateur
+     * @param deckCopies Nombre d'exemplaires du paquet
+     * @param constrained Générateur contraint (plateau généré sans alignement initial)
+     * @since 0.0.1
+     */
+    default void onStart(long matchId, int width, int height, long boardSeed, TileGeneratorType generatorType,
+                         long generatorSeed, int deckCopies, boolean constrained) {
+    }
+
+    /**
+     * État d'un joueur
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur (0 ou 1)
+     * @param life Points de vie
+     * @since 0.0.1
+     */
+    default void onPlayer(long matchId, int player, int life) {
+    }
+
+    /**
+     * Coup joué
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur
+     * @param move Coup codé (voir Moves)
+     * @since 0.0.1
+     */
+    default void onMove(long matchId, int player, int move) {
+    }
+
+    /**
+     * Effet appliqué
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur à l'origine de l'effet
+     * @param type Type d'effet
+     * @param target Cible de l'effet
+     * @param value Valeur de l'effet
+     * @since 0.0.1
+     */
+    default void onEffect(long matchId, int player, EffectType type, EffectTarget target, int value) {
+    }
+
+    /**
+     * Plateau regénéré faute de coup légal
+     * @param matchId Identifiant de la partie
+     * @since 0.0.1
+     */
+    default void onReshuffle(long matchId) {
+    }
+
+    /**
+     * Fin d'une partie
+     * @param matchId Identifiant de la partie
+     * @param winner Numéro du vainqueur, -1 pour un match nul
+     * @since 0.0.1
+     */
+    default void onEnd(long matchId, int winner) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.cyg.rl.module.core.journal;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.effects.EffectPipeline;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * =================================================================================================================
+ * Reconstruction de l'état d'une partie à partir du journal : le plateau est généré depuis sa graine puis
+ * débarrassé de ses alignements initiaux, et chaque coup, regénération et effet est rejoué dans l'ordre.
+ * Le rejeu est exact pour les générateurs LOCAL_* ; avec un générateur GLOBAL_*, les tuiles de remplissage
+ * dépendent des autres plateaux et ne peuvent pas être retrouvées depuis la seule graine.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Getter
+public class MatchReplay implements JournalVisitor {
+
+    // Membres internes
+    private final long                              matchId;
+    private TileBoard                               board;
+    private final Player[]                          players = { new Player(), new Player() };
+    private int                                     moves;
+    private int                                     winner = Integer.MIN_VALUE;
+    @Getter(AccessLevel.NONE)
+    private CascadeResolver                         resolver;
+    @Getter(AccessLevel.NONE)
+    private final EffectPipeline                    pipeline = new EffectPipeline();
+
+    /**
+     * Constructeur
+     * @param matchId Identifiant de la partie à reconstruire
+     */
+    public MatchReplay(long matchId) {
+        this.matchId = matchId;
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Reconstruit une partie à partir d'un journal
+     * @param directory Répertoire du journal
+     * @param matchId Identifiant de la partie
+     * @return MatchReplay
+     * @throws IOException En cas d'erreur de lecture
+     * @since 0.0.1
+     */
+    public static MatchReplay of(Path directory, long matchId) throws IOException {
+        MatchReplay replay = new MatchReplay(matchId);
+        JournalReader.read(directory, replay);
+        return replay;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Indique si la fin de la partie a été journalisée
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean isFinished() {
+        return this.winner != Integer.MIN_VALUE;
+    }
+
+    // ---------------------------------------------- JournalVisitor ----------------------------------------------
+    @Override
+    public void onStart(long matchId, int width, int height, long boardSeed, TileGeneratorType generatorType,
+                        long generatorSeed, int deckCopies, boolean constrained) {
+        if (matchId == this.matchId) {
+            TileGenerator generator = new TileGenerator(generatorType, generatorSeed, deckCopies, constrained);
+            this.board = TileBoard.of(generator, new PackedTileStorage(width, height));
+            this.board.setSeed(boardSeed);
+            this.resolver = CascadeResolver.of(this.board);
+            this.regenerate();
+        }
+    }
+
+    @Override
+    public void onPlayer(long matchId, int player, int life) {
+        if (matchId == this.matchId) {
+            this.players[player].setLife(life);
+        }
+    }
+
+    @Override
+    public void onMove(long matchId, int player, int move) {
+        if (matchId == this.matchId) {
+            Moves.play(this.resolver, this.board, move);
+            this.moves++;
+        }
+    }
+
+    @Override
+    public void onEffect(long matchId, int player, EffectType type, EffectTarget target, int value) {
+        if (matchId == this.matchId) {
+            this.pipeline.add(type, target, value).apply(this.players[player], this.players[player ^ 1]);
+        }
+    }
+
+    @Override
+    public void onReshuffle(long matchId) {
+        if (matchId == this.matchId) {
+            this.regenerate();
+        }
+    }
+
+    @Override
+    public void onEnd(long matchId, int winner) {
+        if (matchId == this.matchId) {
+            this.winner = winner;
+        }
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Génère le plateau depuis sa source et résout ses alignements initiaux
+     */
+    private void regenerate() {
+        this.board.generate();
+        this.resolver.resolve(this.board);
+    }
+}
@@ -0,0 +1,419 @@
+package com.cyg.rl.module.core.journal;
+
+import com.cyg.rl.module.core.codec.VarInts;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * =================================================================================================================
+ * Journal des parties, en ajout seul, dans des segments de fichiers projetés en mémoire.
+ * Les threads de jeu ne touchent jamais au disque : chaque append réserve une case d'un anneau de longs
+ * préalloué (file bornée multi-producteurs sans verrou, une séquence par case) et y recopie les champs de
+ * l'enregistrement, sans allocation. Si l'anneau est plein, l'append échoue immédiatement (-1) au lieu de bloquer.
+ * Un unique thread d'écriture vide l'anneau par lots : il encode les enregistrements dans le segment courant
+ * puis force le segment sur disque une seule fois par lot (group commit) avant de publier la dernière séquence
+ * durable. Un segment plein est clos et le suivant est créé (rollover) ; un octet nul marque la fin des
+ * données d'un segment (le fichier projeté est initialisé à zéro).
+ * Format d'un enregistrement : type (1 octet), identifiant de partie (varint), puis les champs du type (les
+ * graines sur 8 octets, les autres entiers en varint, zigzag pour les valeurs signées). L'octet du type de
+ * générateur d'un début de partie porte en outre le bit CONSTRAINED pour un générateur contraint.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MoveJournal implements Closeable {
+
+    // Constantes publiques
+    public static final int                         DEFAULT_SEGMENT_SIZE = 16 << 20;
+    public static final int                         DEFAULT_CAPACITY = 1 << 16;
+    public static final long                        DEFAULT_FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2L);
+
+    // Constantes du format (partagées avec JournalReader)
+    static final int                                MAGIC = 0x524C4A31;
+    static final String                             SEGMENT_PREFIX = "journal-";
+    static final String                             SEGMENT_SUFFIX = ".seg";
+    static final int                                END = 0;
+    static final int                                START = 1;
+    static final int                                PLAYER = 2;
+    static final int                                MOVE = 3;
+    static final int                                EFFECT = 4;
+    static final int                                RESHUFFLE = 5;
+    static final int                                FINISH = 6;
+    static final int                                CONSTRAINED = 0x80;
+
+    // Constantes internes
+    private static final int                        SLOT = 8;
+    private static final int                        MAX_RECORD_SIZE = 64;
+
+    // Membres internes
+    private final Path                              directory;
+    private final int                               segmentSize;
+    private final int                               mask;
+    private final long[]                            slots;
+    private final AtomicLongArray                   sequences;
+    private final AtomicLong                        tail = new AtomicLong();
+    private long                                    head;
+    private final AtomicLong                        committed = new AtomicLong(-1L);
+    private final long                              flushIntervalNanos;
+    private final Thread                            writer;
+    private volatile boolean                        running = true;
+    private volatile Throwable                      failure;
+    @Getter
+    private int                                     segmentIndex;
+    private FileChannel                             channel;
+    private MappedByteBuffer                        segment;
+
+    /**
+     * Constructeur
+     * @param directory Répertoire des segments (créé si besoin ; les segments existants sont conservés)
+     * @param segmentSize Taille d'un segment en octets
+     * @param capacity Nombre d'enregistrements en attente d'écriture (puissance de 2)
+     * @param flushIntervalNanos Attente du thread d'écriture quand l'anneau est vide
+     * @throws IOException En cas d'erreur à l'ouverture du premier segment
+     */
+    public MoveJournal(@NonNull Path directory, int segmentSize, int capacity, long flushIntervalNanos) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacité doit être une puissance de 2 : " + capacity);
+        }
+        if (segmentSize < 2 * MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Taille de segment trop petite : " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.mask = capacity - 1;
+        this.slots = new long[capacity * SLOT];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.segmentIndex = nextSegmentIndex(directory);
+        this.openSegment();
+        this.writer = new Thread(this::writeLoop, "move-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Ouvre un journal avec les paramètres par défaut
+     * @param directory Répertoire des segments
+     * @return MoveJournal
+     * @throws IOException En cas d'erreur à l'ouverture du premier segment
+     * @since 0.0.1
+     */
+    public static MoveJournal open(Path directory) throws IOException {
+        return new MoveJournal(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL_NANOS);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Journalise le début d'une partie, à partir de son plateau avant génération
+     * @param matchId Identifiant de la partie
+     * @param board Plateau (dimensions, graine et générateur)
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendStart(long matchId, @NonNull TileBoard board) {
+        TileGenerator generator = board.getGenerator();
+        return this.append(START, matchId, board.getWidth(), board.getHeight(), board.getSeed(),
+                (generator != null && generator.getType() != null ? generator.getType().ordinal() + 1 : 0)
+                        | (generator != null && generator.isConstrained() ? CONSTRAINED : 0),
+                generator != null ? generator.getSeed() : 0L, generator != null ? generator.getDeckCopies() : 0);
+    }
+
+    /**
+     * Journalise l'état d'un joueur
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur
+     * @param life Points de vie
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendPlayer(long matchId, int player, int life) {
+        return this.append(PLAYER, matchId, player, life, 0L, 0, 0L, 0);
+    }
+
+    /**
+     * Journalise un coup
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur
+     * @param move Coup codé (voir Moves)
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendMove(long matchId, int player, int move) {
+        return this.append(MOVE, matchId, player, move, 0L, 0, 0L, 0);
+    }
+
+    /**
+     * Journalise un effet
+     * @param matchId Identifiant de la partie
+     * @param player Numéro du joueur à l'origine de l'effet
+     * @param type Type d'effet
+     * @param target Cible
+     * @param value Valeur
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendEffect(long matchId, int player, @NonNull EffectType type, @NonNull EffectTarget target, int value) {
+        return this.append(EFFECT, matchId, player, value, 0L, type.ordinal(), 0L, target.ordinal());
+    }
+
+    /**
+     * Journalise la regénération du plateau faute de coup légal
+     * @param matchId Identifiant de la partie
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendReshuffle(long matchId) {
+        return this.append(RESHUFFLE, matchId, 0, 0, 0L, 0, 0L, 0);
+    }
+
+    /**
+     * Journalise la fin d'une partie
+     * @param matchId Identifiant de la partie
+     * @param winner Numéro du vainqueur, -1 pour un match nul
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     * @since 0.0.1
+     */
+    public long appendFinish(long matchId, int winner) {
+        return this.append(FINISH, matchId, winner, 0, 0L, 0, 0L, 0);
+    }
+
+    /**
+     * Retourne la séquence du dernier enregistrement écrit et forcé sur disque
+     * @return long (-1 si aucun)
+     * @since 0.0.1
+     */
+    public long getCommitted() {
+        return this.committed.get();
+    }
+
+    /**
+     * Attend qu'un enregistrement soit durable (à ne pas appeler depuis un thread de jeu)
+     * @param sequence Séquence de l'enregistrement
+     * @param timeout Délai maximal
+     * @param unit Unité du délai
+     * @return Vrai si l'enregistrement est durable
+     * @since 0.0.1
+     */
+    public boolean awaitCommitted(long sequence, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (this.committed.get() < sequence) {
+            this.checkFailure();
+            if (System.nanoTime() - deadline >= 0L) {
+                return false;
+            }
+            LockSupport.parkNanos(this.flushIntervalNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Arrête le thread d'écriture après avoir écrit tous les enregistrements en attente
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    @Override
+    public void close() throws IOException {
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.channel.close();
+        if (this.failure != null) {
+            throw new IOException("Échec d'écriture du journal", this.failure);
+        }
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Réserve une case de l'anneau et y recopie un enregistrement
+     * @return Séquence de l'enregistrement, -1 si l'anneau est plein
+     */
+    private long append(int kind, long matchId, int a, int b, long c, int d, long e, int f) {
+        this.checkFailure();
+        long position;
+        while (true) {
+            position = this.tail.get();
+            long sequence = this.sequences.get((int) position & this.mask);
+            if (sequence == position) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                return -1L;
+            }
+        }
+        int index = ((int) position & this.mask) * SLOT;
+        this.slots[index] = kind;
+        this.slots[index + 1] = matchId;
+        this.slots[index + 2] = a;
+        this.slots[index + 3] = b;
+        this.slots[index + 4] = c;
+        this.slots[index + 5] = d;
+        this.slots[index + 6] = e;
+        this.slots[index + 7] = f;
+        this.sequences.lazySet((int) position & this.mask, position + 1);
+        return position;
+    }
+
+    /**
+     * Boucle du thread d'écriture
+     */
+    private void writeLoop() {
+        try {
+            while (true) {
+                boolean stopping = !this.running;
+                long last = this.drain();
+                if (last >= 0L) {
+                    this.segment.force();
+                    this.committed.lazySet(last);
+                } else if (stopping) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this.flushIntervalNanos);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Écrit dans le segment courant les enregistrements publiés, au plus un tour d'anneau par appel afin que
+     * les producteurs voient leurs enregistrements validés même sous charge continue
+     * @return Séquence du dernier enregistrement écrit, -1 si aucun
+     * @throws IOException En cas d'erreur de rollover
+     */
+    private long drain() throws IOException {
+        long last = -1L;
+        long limit = this.head + this.mask + 1;
+        while (this.head < limit) {
+            int slot = (int) this.head & this.mask;
+            if (this.sequences.get(slot) != this.head + 1) {
+                return last;
+            }
+            if (this.segment.remaining() < MAX_RECORD_SIZE) {
+                this.segment.force();
+                this.segmentIndex++;
+                this.openSegment();
+            }
+            this.encode(slot * SLOT);
+            last = this.head;
+            this.sequences.lazySet(slot, this.head + this.mask + 1);
+            this.head++;
+        }
+        return last;
+    }
+
+    /**
+     * Encode un enregistrement de l'anneau dans le segment courant
+     * @param index Index de l'enregistrement dans l'anneau
+     */
+    private void encode(int index) {
+        MappedByteBuffer out = this.segment;
+        long[] slot = this.slots;
+        int kind = (int) slot[index];
+        out.put((byte) kind);
+        VarInts.putUnsignedLong(out, slot[index + 1]);
+        switch (kind) {
+            case START:
+                VarInts.putUnsigned(out, (int) slot[index + 2]);
+                VarInts.putUnsigned(out, (int) slot[index + 3]);
+                out.putLong(slot[index + 4]);
+                out.put((byte) slot[index + 5]);
+                out.putLong(slot[index + 6]);
+                VarInts.putUnsigned(out, (int) slot[index + 7]);
+                break;
+            case PLAYER:
+            case MOVE:
+                VarInts.putUnsigned(out, (int) slot[index + 2]);
+                VarInts.putSigned(out, (int) slot[index + 3]);
+                break;
+            case EFFECT:
+                VarInts.putUnsigned(out, (int) slot[index + 2]);
+                out.put((byte) slot[index + 5]);
+                out.put((byte) slot[index + 7]);
+                VarInts.putSigned(out, (int) slot[index + 3]);
+                break;
+            case FINISH:
+                VarInts.putSigned(out, (int) slot[index + 2]);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Crée et projette le segment courant
+     * @throws IOException En cas d'erreur de création
+     */
+    private void openSegment() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+        Path path = this.directory.resolve(segmentName(this.segmentIndex));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, 0L, this.segmentSize);
+        this.segment.putInt(MAGIC);
+    }
+
+    /**
+     * Relance l'erreur du thread d'écriture, le cas échéant
+     */
+    private void checkFailure() {
+        Throwable error = this.failure;
+        if (error != null) {
+            throw error instanceof IOException ? new UncheckedIOException((IOException) error)
+                    : new IllegalStateException("Échec d'écriture du journal", error);
+        }
+    }
+
+    // ------------ Méthodes statiques ---------------
+    /**
+     * Retourne le nom du fichier d'un segment
+     * @param index Numéro du segment
+     * @return String
+     */
+    static String segmentName(int index) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Retourne le numéro du premier segment libre d'un répertoire
+     * @param directory Répertoire
+     * @return int
+     * @throws IOException En cas d'erreur de lecture du répertoire
+     */
+    private static int nextSegmentIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .mapToInt(n -> Integer.parseInt(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length())) + 1)
+                    .max().orElse(0);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cyg.rl.module.core.json;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.Tile;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =================================================================================================================
+ * Désérialiseur Jackson d'un plateau (voir TileBoardModule).
+ * Les lignes sont lues caractère par caractère directement dans le stockage du plateau, sans Tile ni arbre
+ * intermédiaire. Si les lignes précèdent les dimensions dans le document, elles sont conservées sous forme de
+ * chaînes jusqu'à la fin de l'objet.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardDeserializer extends StdDeserializer<TileBoard> {
+
+    /**
+     * Constructeur
+     */
+    public TileBoardDeserializer() {
+        super(TileBoard.class);
+    }
+
+    // ----------------------------------------------------- StdDeserializer<TileBoard> --------------------------------------------
+    /* (non-Javadoc)
+     * @see com.fasterxml.jackson.databind.JsonDeserializer#deserialize(com.fasterxml.jackson.core.JsonParser, com.fasterxml.jackson.databind.DeserializationContext)
+     */
+    @Override
+    public TileBoard deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.getCurrentToken() == JsonToken.START_OBJECT) {
+            p.nextToken();
+        }
+        TileGenerator generator = null;
+        long seed = 0L;
+        int width = -1;
+        int height = -1;
+        TileStorage storage = null;
+        List<String> pendingRows = null;
+        Tile[][] tiles = null;
+        for (; p.getCurrentToken() == JsonToken.FIELD_NAME; p.nextToken()) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "generator":
+                    generator = ctxt.readValue(p, TileGenerator.class);
+                    break;
+                case "seed":
+                    seed = p.getLongValue();
+                    break;
+                case "width":
+                    width = p.getIntValue();
+                    break;
+                case "height":
+                    height = p.getIntValue();
+                    break;
+                case "rows":
+                    if (width >= 0 && height >= 0) {
+                        this.checkDimensions(ctxt, width, height);
+                        storage = new PackedTileStorage(width, height);
+                        this.readRows(p, ctxt, storage);
+                    } else {
+                        pendingRows = this.readPendingRows(p, ctxt);
+                    }
+                    break;
+                case "tiles":
+                    tiles = ctxt.readValue(p, Tile[][].class);
+                    break;
+                default:
+                    p.skipChildren();
+                    break;
+            }
+        }
+        if (storage == null && pendingRows != null) {
+            height = height >= 0 ? height : pendingRows.size();
+            width = width >= 0 ? width : (pendingRows.isEmpty() ? 0 : pendingRows.get(0).length());
+            this.checkDimensions(ctxt, width, height);
+            if (pendingRows.size() != height) {
+                ctxt.reportInputMismatch(this, "%d lignes lues au lieu de %d", pendingRows.size(), height);
+            }
+            storage = new PackedTileStorage(width, height);
+            this.copyRows(ctxt, pendingRows, storage);
+        }
+        if (storage != null) {
+            TileBoard board = TileBoard.of(generator, storage);
+            board.setSeed(seed);
+            return board;
+        }
+        this.checkDimensions(ctxt, Math.max(width, 0), Math.max(height, 0));
+        return TileBoard.of(generator, seed, Math.max(width, 0), Math.max(height, 0), tiles);
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Vérifie les dimensions lues avant toute allocation
+     * @param ctxt Contexte
+     * @param width Largeur
+     * @param height Hauteur
+     * @throws IOException Si le nombre de cases dépasse TileStorage.MAX_CELLS
+     */
+    private void checkDimensions(DeserializationContext ctxt, int width, int height) throws IOException {
+        if (width < 0 || height < 0 || (long) width * height > TileStorage.MAX_CELLS) {
+            ctxt.reportInputMismatch(this, "Dimensions de plateau invalides : %dx%d", width, height);
+        }
+    }
+
+    /**
+     * Lit les lignes directement dans un stockage, à partir du tampon de caractères du parser
+     * @param p Parser positionné sur le début du tableau
+     * @param ctxt Contexte
+     * @param storage Stockage de destination
+     * @throws IOException En cas d'erreur de lecture
+     */
+    private void readRows(JsonParser p, DeserializationContext ctxt, TileStorage storage) throws IOException {
+        int width = storage.getWidth();
+        int y = 0;
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken(), y++) {
+            if (token != JsonToken.VALUE_STRING || y >= storage.getHeight() || p.getTextLength() != width) {
+                ctxt.reportInputMismatch(this, "Ligne %d invalide pour un plateau de %dx%d", y, width, storage.getHeight());
+            }
+            char[] text = p.getTextCharacters();
+            int offset = p.getTextOffset();
+            for (int x = 0; x < width; x++) {
+                storage.set(x, y, this.color(ctxt, text[offset + x]));
+            }
+        }
+        if (y != storage.getHeight()) {
+            ctxt.reportInputMismatch(this, "%d lignes lues au lieu de %d", y, storage.getHeight());
+        }
+    }
+
+    /**
+     * Conserve les lignes sous forme de chaînes, quand les dimensions ne sont pas encore connues
+     * @param p Parser positionné sur le début du tableau
+     * @param ctxt Contexte
+     * @return Lignes
+     * @throws IOException En cas d'erreur de lecture
+     */
+    private List<String> readPendingRows(JsonParser p, DeserializationContext ctxt) throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token != JsonToken.VALUE_STRING) {
+                ctxt.reportInputMismatch(this, "Ligne %d invalide", rows.size());
+            }
+            rows.add(p.getText());
+        }
+        return rows;
+    }
+
+    /**
+     * Recopie des lignes conservées dans un stockage
+     * @param ctxt Contexte
+     * @param rows Lignes
+     * @param storage Stockage de destination
+     * @throws IOException En cas de lignes incohérentes
+     */
+    private void copyRows(DeserializationContext ctxt, List<String> rows, TileStorage storage) throws IOException {
+        if (rows.size() != storage.getHeight()) {
+            ctxt.reportInputMismatch(this, "%d lignes lues au lieu de %d", rows.size(), storage.getHeight());
+        }
+        for (int y = 0; y < rows.size(); y++) {
+            String row = rows.get(y);
+            if (row.length() != storage.getWidth()) {
+                ctxt.reportInputMismatch(this, "Ligne %d invalide pour une largeur de %d", y, storage.getWidth());
+            }
+            for (int x = 0; x < row.length(); x++) {
+                storage.set(x, y, this.color(ctxt, row.charAt(x)));
+            }
+        }
+    }
+
+    /**
+     * Convertit un caractère en couleur
+     * @param ctxt Contexte
+     * @param symbol Caractère
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @throws IOException Si le caractère est inconnu
+     */
+    private byte color(DeserializationContext ctxt, char symbol) throws IOException {
+        try {
+            return TileBoardModule.color(symbol);
+        } catch (IllegalArgumentException e) {
+            return ctxt.reportInputMismatch(this, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cyg.rl.module.core.json;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.tools.jackson.JacksonConfigurer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Module Jackson de sérialisation compacte des plateaux : chaque ligne est écrite comme une chaîne d'un caractère
+ * par case (initiale de la couleur, '.' pour une case vide), par exemple :
+ * {"generator":{...},"seed":42,"width":3,"height":2,"rows":["BRY","W.B"]}
+ * L'ancien format (tableau "tiles" d'objets Tile) reste accepté en lecture.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardModule extends SimpleModule {
+
+    // Constantes publiques
+    public static final char                        EMPTY_SYMBOL = '.';
+
+    // Constantes internes
+    private static final char[]                     SYMBOLS = new char[TileColor.count()];
+    private static final byte[]                     COLORS = new byte[128];
+
+    static {
+        Arrays.fill(COLORS, Byte.MIN_VALUE);
+        COLORS[EMPTY_SYMBOL] = TileStorage.EMPTY;
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            char symbol = TileColor.of(i).name().charAt(0);
+            if (COLORS[symbol] != Byte.MIN_VALUE) {
+                throw new IllegalStateException("Initiale de couleur en double : " + symbol);
+            }
+            SYMBOLS[i] = symbol;
+            COLORS[symbol] = (byte) i;
+        }
+    }
+
+    /**
+     * Constructeur
+     */
+    public TileBoardModule() {
+        super(TileBoardModule.class.getSimpleName());
+        this.addSerializer(TileBoard.class, new TileBoardSerializer());
+        this.addDeserializer(TileBoard.class, new TileBoardDeserializer());
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Enregistre le module dans la configuration Jackson par défaut
+     * @since 0.0.1
+     */
+    public static void register() {
+        JacksonConfigurer.getInstance().addModule(new TileBoardModule());
+    }
+
+    /**
+     * Retourne le caractère représentant une couleur
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @return char
+     * @since 0.0.1
+     */
+    public static char symbol(byte color) {
+        return color != TileStorage.EMPTY ? SYMBOLS[color] : EMPTY_SYMBOL;
+    }
+
+    /**
+     * Retourne la couleur représentée par un caractère
+     * @param symbol Caractère
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public static byte color(char symbol) {
+        byte color = symbol < COLORS.length ? COLORS[symbol] : Byte.MIN_VALUE;
+        if (color == Byte.MIN_VALUE) {
+            throw new IllegalArgumentException("Caractère de tuile inconnu : " + symbol);
+        }
+        return color;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cyg.rl.module.core.json;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * =================================================================================================================
+ * Sérialiseur Jackson d'un plateau, une chaîne par ligne (voir TileBoardModule)
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardSerializer extends StdSerializer<TileBoard> {
+
+    /**
+     * Constructeur
+     */
+    public TileBoardSerializer() {
+        super(TileBoard.class);
+    }
+
+    // ----------------------------------------------------- StdSerializer<TileBoard> --------------------------------------------
+    /* (non-Javadoc)
+     * @see com.fasterxml.jackson.databind.JsonSerializer#serialize(java.lang.Object, com.fasterxml.jackson.core.JsonGenerator, com.fasterxml.jackson.databind.SerializerProvider)
+     */
+    @Override
+    public void serialize(TileBoard board, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        TileStorage storage = board.getStorage();
+        int width = storage.getWidth();
+        int height = storage.getHeight();
+        gen.writeStartObject();
+        gen.writeFieldName("generator");
+        provider.defaultSerializeValue(board.getGenerator(), gen);
+        gen.writeNumberField("seed", board.getSeed());
+        gen.writeNumberField("width", width);
+        gen.writeNumberField("height", height);
+        gen.writeArrayFieldStart("rows");
+        char[] row = new char[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x] = TileBoardModule.symbol(storage.get(x, y));
+            }
+            gen.writeString(row, 0, width);
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,376 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.generator.ConstrainedGeneration;
+import com.cyg.rl.module.core.generator.DeckTileSource;
+import com.cyg.rl.module.core.generator.RandomTileSource;
+import com.cyg.rl.module.core.generator.TileRandom;
+import com.cyg.rl.module.core.generator.TileSource;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * =================================================================================================================
+ * Plateau de très grande taille (échelle d'une contrée), découpé en tronçons carrés de chunkSize cases.
+ * Un tronçon n'est créé qu'au premier accès à l'une de ses cases, en le générant de façon déterministe à partir
+ * de la graine du plateau et de ses coordonnées : un tronçon généré, évincé puis regénéré est identique. Seuls
+ * maxChunks tronçons sont gardés en mémoire, les moins récemment utilisés étant évincés (LRU) ; un tronçon
+ * modifié est écrit dans le répertoire de débordement avant d'être évincé puis relu au besoin ; le nom du
+ * fichier porte la graine et la taille des tronçons, si bien qu'un répertoire partagé par plusieurs plateaux
+ * ne mélange jamais leurs tronçons. Sans
+ * répertoire de débordement, les tronçons modifiés ne sont jamais évincés. La mémoire consommée dépend donc de la
+ * zone explorée, et non de la taille nominale du plateau.
+ * Les générateurs GLOBAL_* sont remplacés par leur équivalent LOCAL_*, une source partagée ne permettant pas de
+ * regénérer un tronçon à l'identique. Avec un générateur contraint, chaque tronçon est généré sans alignement
+ * interne ; des alignements restent possibles à cheval sur deux tronçons. Une instance n'est pas thread-safe.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ChunkedTileBoard {
+
+    // Constantes publiques
+    public static final int                         DEFAULT_CHUNK_SIZE = 64;
+    public static final int                         DEFAULT_MAX_CHUNKS = 256;
+
+    // Constantes internes
+    private static final long                       MAX_CHUNK_COORDINATE = 0xFFFFFFFFL;
+
+    // Membres internes
+    @Getter
+    private final TileGenerator                     generator;
+    @Getter
+    private final long                              seed;
+    @Getter
+    private final long                              width;
+    @Getter
+    private final long                              height;
+    @Getter
+    private final int                               chunkSize;
+    @Getter
+    private final int                               maxChunks;
+    private final Path                              spillDirectory;
+    private final LinkedHashMap<Long, Chunk>        chunks;
+    private Chunk                                   last;
+    @Getter
+    private long                                    generated;
+    @Getter
+    private long                                    evicted;
+    @Getter
+    private long                                    spilled;
+    @Getter
+    private long                                    restored;
+
+    /**
+     * Constructeur
+     * @param generator Générateur de tuiles
+     * @param seed Graine du plateau
+     * @param width Largeur
+     * @param height Hauteur
+     * @param chunkSize Côté d'un tronçon
+     * @param maxChunks Nombre de tronçons gardés en mémoire
+     * @param spillDirectory Répertoire de débordement des tronçons modifiés (peut être null)
+     */
+    public ChunkedTileBoard(@NonNull TileGenerator generator, long seed, long width, long height, int chunkSize, int maxChunks,
+                            Path spillDirectory) {
+        if (width < 0 || height < 0 || chunkSize <= 0 || maxChunks <= 0) {
+            throw new IllegalArgumentException("Paramètres de plateau invalides : " + width + "x" + height + ", tronçons de "
+                    + chunkSize + ", " + maxChunks + " en mémoire");
+        }
+        if ((width - 1) / chunkSize > MAX_CHUNK_COORDINATE || (height - 1) / chunkSize > MAX_CHUNK_COORDINATE) {
+            throw new IllegalArgumentException("Plateau " + width + "x" + height + " trop grand pour des tronçons de " + chunkSize);
+        }
+        this.generator = generator;
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+        this.spillDirectory = spillDirectory;
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Constructeur, avec les tailles par défaut et sans débordement sur disque
+     * @param generator Générateur de tuiles
+     * @param seed Graine du plateau
+     * @param width Largeur
+     * @param height Hauteur
+     */
+    public ChunkedTileBoard(TileGenerator generator, long seed, long width, long height) {
+        this(generator, seed, width, height, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS, null);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public byte get(long x, long y) {
+        Chunk chunk = this.chunk(x, y);
+        return chunk.cells[this.offset(x, y)];
+    }
+
+    /**
+     * Positionne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public void set(long x, long y, byte color) {
+        Chunk chunk = this.chunk(x, y);
+        int offset = this.offset(x, y);
+        if (chunk.cells[offset] != color) {
+            chunk.cells[offset] = color;
+            chunk.dirty = true;
+        }
+    }
+
+    /**
+     * Recopie une fenêtre du plateau dans un plateau de jeu, dont elle prend les dimensions
+     * @param board Plateau de destination
+     * @param left Colonne du coin haut gauche de la fenêtre
+     * @param top Ligne du coin haut gauche de la fenêtre
+     * @return Le plateau de destination
+     * @since 0.0.1
+     */
+    public TileBoard copyTo(@NonNull TileBoard board, long left, long top) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                board.set(x, y, this.get(left + x, top + y));
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Recopie un plateau de jeu dans une fenêtre du plateau
+     * @param board Plateau source
+     * @param left Colonne du coin haut gauche de la fenêtre
+     * @param top Ligne du coin haut gauche de la fenêtre
+     * @since 0.0.1
+     */
+    public void copyFrom(@NonNull TileBoard board, long left, long top) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                this.set(left + x, top + y, board.get(x, y));
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de tronçons en mémoire
+     * @return int
+     * @since 0.0.1
+     */
+    public int getLoadedChunks() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Écrit tous les tronçons modifiés dans le répertoire de débordement, sans les évincer
+     * @since 0.0.1
+     */
+    public void flush() {
+        if (this.spillDirectory != null) {
+            for (Chunk chunk : this.chunks.values()) {
+                if (chunk.dirty) {
+                    this.spill(chunk);
+                }
+            }
+        }
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Retourne le tronçon contenant une case, en le chargeant si besoin.
+     * Le dernier tronçon utilisé est servi sans passer par la table : il y a été touché (get ou put) en devenant
+     * le dernier, et aucun autre tronçon n'a été utilisé depuis, il y est donc déjà le plus récent. L'ordre de la
+     * table reste ainsi exactement celui des derniers accès.
+     * @param x Colonne
+     * @param y Ligne
+     * @return Chunk
+     */
+    private Chunk chunk(long x, long y) {
+        if (x < 0 || x >= this.width || y < 0 || y >= this.height) {
+            throw new IndexOutOfBoundsException("Case (" + x + ", " + y + ") hors du plateau " + this.width + "x" + this.height);
+        }
+        long cx = x / this.chunkSize;
+        long cy = y / this.chunkSize;
+        Chunk chunk = this.last;
+        if (chunk != null && chunk.cx == cx && chunk.cy == cy) {
+            return chunk;
+        }
+        Long key = key(cx, cy);
+        chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = this.load(cx, cy);
+            this.chunks.put(key, chunk);
+            this.last = chunk;
+            this.evict();
+        }
+        this.last = chunk;
+        return chunk;
+    }
+
+    /**
+     * Retourne la position d'une case dans son tronçon
+     * @param x Colonne
+     * @param y Ligne
+     * @return int
+     */
+    private int offset(long x, long y) {
+        return (int) (y % this.chunkSize) * this.chunkSize + (int) (x % this.chunkSize);
+    }
+
+    /**
+     * Charge un tronçon depuis le répertoire de débordement, ou le génère
+     * @param cx Colonne du tronçon
+     * @param cy Ligne du tronçon
+     * @return Chunk
+     */
+    private Chunk load(long cx, long cy) {
+        Chunk chunk = new Chunk(cx, cy, new byte[this.chunkSize * this.chunkSize]);
+        Path path = this.spillPath(cx, cy);
+        if (path != null && Files.exists(path)) {
+            try {
+                byte[] cells = Files.readAllBytes(path);
+                if (cells.length != chunk.cells.length) {
+                    throw new IllegalStateException("Fichier de débordement invalide (" + cells.length + " octets au lieu de "
+                            + chunk.cells.length + ") : " + path);
+                }
+                System.arraycopy(cells, 0, chunk.cells, 0, chunk.cells.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.restored++;
+        } else {
+            TileSource source = this.source(TileRandom.derive(this.seed, key(cx, cy)));
+            if (this.generator.isConstrained()) {
+                ConstrainedGeneration.fill(chunk.cells, this.chunkSize, this.chunkSize, source);
+            } else {
+                source.fill(chunk.cells, 0, chunk.cells.length);
+            }
+            this.generated++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Évince les tronçons les moins récemment utilisés au-delà de maxChunks ; un tronçon modifié est écrit sur
+     * disque avant d'être évincé, ou conservé en l'absence de répertoire de débordement. Le tronçon qui vient
+     * d'être chargé n'est jamais évincé.
+     */
+    private void evict() {
+        Iterator<Chunk> iterator = this.chunks.values().iterator();
+        int excess = this.chunks.size() - this.maxChunks;
+        while (excess > 0 && iterator.hasNext()) {
+            Chunk chunk = iterator.next();
+            if (chunk == this.last) {
+                continue;
+            }
+            if (chunk.dirty) {
+                if (this.spillDirectory == null) {
+                    continue;
+                }
+                this.spill(chunk);
+            }
+            iterator.remove();
+            this.evicted++;
+            excess--;
+        }
+    }
+
+    /**
+     * Écrit un tronçon modifié dans le répertoire de débordement
+     * @param chunk Tronçon
+     */
+    private void spill(Chunk chunk) {
+        try {
+            Files.createDirectories(this.spillDirectory);
+            Files.write(this.spillPath(chunk.cx, chunk.cy), chunk.cells);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.dirty = false;
+        this.spilled++;
+    }
+
+    /**
+     * Retourne le fichier de débordement d'un tronçon, nommé d'après la graine du plateau, la taille des tronçons
+     * et les coordonnées du tronçon
+     * @param cx Colonne du tronçon
+     * @param cy Ligne du tronçon
+     * @return Path ou null sans répertoire de débordement
+     */
+    private Path spillPath(long cx, long cy) {
+        return this.spillDirectory != null ? this.spillDirectory.resolve(
+                String.format("chunk-%016x-%d-%d-%d.bin", this.seed, this.chunkSize, cx, cy)) : null;
+    }
+
+    /**
+     * Ouvre la source de tuiles d'un tronçon, avec l'équivalent local du générateur
+     * @param chunkSeed Graine du tronçon
+     * @return TileSource
+     */
+    private TileSource source(long chunkSeed) {
+        TileGeneratorType type = this.generator.getEffectiveType();
+        if (type == TileGeneratorType.LOCAL_DECK || type == TileGeneratorType.GLOBAL_DECK) {
+            return new DeckTileSource(this.generator.getEffectiveDeckCopies(), chunkSeed, 0L);
+        }
+        return new RandomTileSource(chunkSeed, 0L);
+    }
+
+    /**
+     * Retourne la clé d'un tronçon, unique tant que les coordonnées de tronçon tiennent sur 32 bits (vérifié à la
+     * construction)
+     * @param cx Colonne du tronçon
+     * @param cy Ligne du tronçon
+     * @return long
+     */
+    private static long key(long cx, long cy) {
+        return (cx << 32) | cy;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Tronçon chargé en mémoire
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Chunk {
+
+        // Membres internes
+        private final long                          cx;
+        private final long                          cy;
+        private final byte[]                        cells;
+        private boolean                             dirty;
+
+        /**
+         * Constructeur
+         * @param cx Colonne du tronçon
+         * @param cy Ligne du tronçon
+         * @param cells Cases, ligne par ligne
+         */
+        private Chunk(long cx, long cy, byte[] cells) {
+            this.cx = cx;
+            this.cy = cy;
+            this.cells = cells;
+        }
+    }
+}
@@ -1,28 +1,516 @@
 package com.cyg.rl.module.core.models;
 
-import lombok.AllArgsConstructor;
+import com.cyg.rl.module.core.board.BoardGeometry;
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.board.Zobrist;
+import com.cyg.rl.module.core.generator.ConstrainedGeneration;
+import com.cyg.rl.module.core.generator.TileSource;
+import com.cyg.rl.module.core.types.TileColor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Objects;
 
 /**
  * =================================================================================================================
- * Modèle pour un plateau de tuiles
+ * Modèle pour un plateau de tuiles.
+ * Les couleurs sont conservées dans un TileStorage compact ; le tableau Tile[][] n'est plus qu'une vue
+ * reconstruite à la demande (tiles[y][x]).
+ * Le plateau maintient un hash de Zobrist et des compteurs de tuiles par couleur (TileCounts) mis à jour à chaque
+ * modification : toute modification doit donc passer par le plateau et non directement par son stockage (sinon,
+ * appeler rehash()). Les compteurs par zone rectangulaire (TileRegions) ne sont créés qu'à leur première
+ * utilisation, puis tenus à jour de la même façon.
  *
  * @author Cyril Chevalier
  * @since 0.0.1
  * =================================================================================================================
  */
-@Data
-@Builder
-@AllArgsConstructor(staticName = "of")
-@NoArgsConstructor
+@Getter
+@ToString
 public class TileBoard {
 
     // Membres internes
+    @Setter
     private TileGenerator               generator;
-    private int                         width;
-    private int                         height;
-    private Tile[][]                    tiles;
+    @Setter
+    private long                        seed;
+    @JsonIgnore
+    private final TileStorage           storage;
+    @JsonIgnore
+    @Setter
+    @ToString.Exclude
+    private TileSource                  source;
+    @JsonIgnore
+    private long                        hash;
+    @JsonIgnore
+    @ToString.Exclude
+    private final TileCounts            counts;
+    @JsonIgnore
+    @ToString.Exclude
+    private TileRegions                 regions;
+    @JsonIgnore
+    @ToString.Exclude
+    private BoardGeometry               geometry;
+
+    /**
+     * Constructeur
+     * @param generator Générateur de tuiles
+     * @param storage Stockage des couleurs
+     */
+    public TileBoard(TileGenerator generator, @NonNull TileStorage storage) {
+        this.generator = generator;
+        this.storage = storage;
+        this.hash = Zobrist.hash(storage);
+        this.counts = new TileCounts(storage.getWidth(), storage.getHeight());
+        this.counts.load(storage);
+    }
+
+    /**
+     * Constructeur de copie
+     * @param source Plateau copié
+     */
+    private TileBoard(TileBoard source) {
+        this.generator = source.generator;
+        this.seed = source.seed;
+        this.storage = source.storage.copy();
+        this.source = source.source;
+        this.hash = source.hash;
+        this.counts = source.counts.snapshot();
+        this.regions = source.regions != null ? source.regions.snapshot() : null;
+        this.geometry = source.geometry;
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée un plateau à partir d'un tableau de tuiles (tiles[y][x]), stocké sous forme compacte
+     * @param generator Générateur de tuiles
+     * @param width Largeur
+     * @param height Hauteur
+     * @param tiles Tuiles (peut être null : le plateau est alors vide)
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public static TileBoard of(TileGenerator generator, int width, int height, Tile[][] tiles) {
+        return of(generator, 0L, width, height, tiles);
+    }
+
+    /**
+     * Crée un plateau à partir d'un tableau de tuiles (tiles[y][x]), stocké sous forme compacte
+     * @param generator Générateur de tuiles
+     * @param seed Graine de la source de tuiles du plateau
+     * @param width Largeur
+     * @param height Hauteur
+     * @param tiles Tuiles (peut être null : le plateau est alors vide)
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    @Builder
+    @JsonCreator
+    public static TileBoard of(@JsonProperty("generator") TileGenerator generator,
+                               @JsonProperty("seed") long seed,
+                               @JsonProperty("width") int width,
+                               @JsonProperty("height") int height,
+                               @JsonProperty("tiles") Tile[][] tiles) {
+        TileBoard board = new TileBoard(generator, new PackedTileStorage(width, height));
+        board.seed = seed;
+        if (tiles != null) {
+            board.setTiles(tiles);
+        }
+        return board;
+    }
+
+    /**
+     * Crée un plateau à partir d'un stockage existant
+     * @param generator Générateur de tuiles
+     * @param storage Stockage
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public static TileBoard of(TileGenerator generator, TileStorage storage) {
+        return new TileBoard(generator, storage);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne la largeur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public int getWidth() {
+        return this.storage.getWidth();
+    }
+
+    /**
+     * Retourne la hauteur du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public int getHeight() {
+        return this.storage.getHeight();
+    }
+
+    /**
+     * Retourne la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return TileColor ou null si la case est vide
+     * @since 0.0.1
+     */
+    public TileColor getColor(int x, int y) {
+        return TileColor.of(this.storage.get(x, y));
+    }
+
+    /**
+     * Positionne la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Couleur (null pour vider la case)
+     * @since 0.0.1
+     */
+    public void setColor(int x, int y, TileColor color) {
+        this.set(x, y, color != null ? (byte) color.ordinal() : TileStorage.EMPTY);
+    }
+
+    /**
+     * Retourne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @return Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public byte get(int x, int y) {
+        return this.storage.get(x, y);
+    }
+
+    /**
+     * Positionne l'ordinal de la couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @since 0.0.1
+     */
+    public void set(int x, int y, byte color) {
+        byte old = this.storage.get(x, y);
+        if (old != color) {
+            int index = y * this.getWidth() + x;
+            this.hash ^= Zobrist.key(index, old) ^ Zobrist.key(index, color);
+            this.counts.change(x, y, old, color);
+            if (this.regions != null) {
+                this.regions.change(x, y, old, color);
+            }
+            this.storage.set(x, y, color);
+        }
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur le plateau, en O(1)
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int count(TileColor color) {
+        return this.counts.get(color);
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur une ligne, en O(1)
+     * @param y Ligne
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int countRow(int y, TileColor color) {
+        return this.counts.getRow(y, color);
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur une colonne, en O(1)
+     * @param x Colonne
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int countColumn(int x, TileColor color) {
+        return this.counts.getColumn(x, color);
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur dans une zone rectangulaire, en O(log(largeur) * log(hauteur))
+     * @param color Couleur (null pour les cases vides)
+     * @param x Colonne du coin haut gauche
+     * @param y Ligne du coin haut gauche
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     * @return int
+     * @since 0.0.1
+     */
+    public int countRegion(TileColor color, int x, int y, int width, int height) {
+        return this.getRegions().count(color, x, y, width, height);
+    }
+
+    /**
+     * Retourne la géométrie du plateau, recherchée au premier appel
+     * @return BoardGeometry
+     * @since 0.0.1
+     */
+    public BoardGeometry getGeometry() {
+        if (this.geometry == null) {
+            this.geometry = BoardGeometry.of(this.storage);
+        }
+        return this.geometry;
+    }
+
+    /**
+     * Retourne les compteurs par zone rectangulaire du plateau, créés au premier appel puis tenus à jour à
+     * chaque modification
+     * @return TileRegions
+     * @since 0.0.1
+     */
+    public TileRegions getRegions() {
+        if (this.regions == null) {
+            this.regions = new TileRegions(this.getWidth(), this.getHeight());
+            this.regions.load(this.storage);
+        }
+        return this.regions;
+    }
+
+    /**
+     * Retourne la source de tuiles du plateau. Si aucune source n'a été positionnée, elle est ouverte depuis le
+     * générateur avec la graine du plateau.
+     * @return TileSource ou null si le plateau n'a ni source ni générateur
+     * @since 0.0.1
+     */
+    public TileSource getSource() {
+        if (this.source == null && this.generator != null) {
+            this.source = this.generator.open(this.seed);
+        }
+        return this.source;
+    }
+
+    /**
+     * Remplit toutes les cases du plateau depuis sa source de tuiles. Avec un générateur contraint, les cartes
+     * restées en attente sont rendues en tête de la source du plateau (voir ConstrainedGeneration).
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard generate() {
+        TileSource source = this.getSource();
+        if (source == null) {
+            throw new IllegalStateException("Le plateau n'a ni source ni générateur de tuiles");
+        }
+        if (this.generator != null && this.generator.isConstrained()) {
+            this.source = ConstrainedGeneration.generate(this.storage, source);
+        } else {
+            this.storage.generate(source);
+        }
+        this.hash = Zobrist.hash(this.storage);
+        this.counts.load(this.storage);
+        this.loadRegions();
+        return this;
+    }
+
+    /**
+     * Réinitialise le plateau sur place pour une nouvelle partie : générateur, graine et source de tuiles sont
+     * remplacés puis toutes les cases sont regénérées, sans réallouer le stockage
+     * @param generator Générateur de tuiles
+     * @param seed Graine de la nouvelle partie
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard reset(@NonNull TileGenerator generator, long seed) {
+        this.generator = generator;
+        this.seed = seed;
+        this.source = generator.open(seed);
+        return this.generate();
+    }
+
+    /**
+     * Fait tomber les tuiles d'une colonne vers le bas
+     * @param x Colonne
+     * @return Nombre de cases vides en haut de la colonne
+     * @since 0.0.1
+     */
+    public int collapseColumn(int x) {
+        int height = this.getHeight();
+        long before = Zobrist.column(this.storage, x, height);
+        this.counts.column(this.storage, x, height, -1);
+        this.columnRegions(x, height, -1);
+        int result = this.storage.collapseColumn(x);
+        this.hash ^= before ^ Zobrist.column(this.storage, x, height);
+        this.counts.column(this.storage, x, height, 1);
+        this.columnRegions(x, height, 1);
+        return result;
+    }
+
+    /**
+     * Remplit les count premières cases d'une colonne depuis la source de tuiles du plateau.
+     * Sans source, les cases restent vides.
+     * @param x Colonne
+     * @param count Nombre de cases à remplir
+     * @since 0.0.1
+     */
+    public void refillColumn(int x, int count) {
+        TileSource source = this.getSource();
+        if (source != null && count > 0) {
+            long before = Zobrist.column(this.storage, x, count);
+            this.counts.column(this.storage, x, count, -1);
+            this.columnRegions(x, count, -1);
+            this.storage.refillColumn(x, count, source);
+            this.hash ^= before ^ Zobrist.column(this.storage, x, count);
+            this.counts.column(this.storage, x, count, 1);
+            this.columnRegions(x, count, 1);
+        }
+    }
+
+    /**
+     * Retourne les tuiles du plateau sous forme de vues (tiles[y][x]) : modifier une vue modifie le plateau.
+     * Ce tableau est reconstruit à chaque appel et ne doit pas être utilisé dans les traitements intensifs.
+     * @return Tile[][]
+     * @since 0.0.1
+     */
+    public Tile[][] getTiles() {
+        int width = this.getWidth();
+        int height = this.getHeight();
+        Tile[][] tiles = new Tile[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                tiles[y][x] = new TileView(this, x, y);
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Recopie les couleurs d'un tableau de tuiles (tiles[y][x]) dans le plateau
+     * @param tiles Tuiles, aux dimensions du plateau
+     * @since 0.0.1
+     */
+    public void setTiles(@NonNull Tile[][] tiles) {
+        int width = this.getWidth();
+        int height = this.getHeight();
+        if (tiles.length != height) {
+            throw new IllegalArgumentException("Le tableau de tuiles comporte " + tiles.length + " lignes au lieu de " + height);
+        }
+        for (int y = 0; y < height; y++) {
+            if (tiles[y].length != width) {
+                throw new IllegalArgumentException("La ligne " + y + " comporte " + tiles[y].length + " tuiles au lieu de " + width);
+            }
+            for (int x = 0; x < width; x++) {
+                Tile tile = tiles[y][x];
+                this.setColor(x, y, tile != null ? tile.getColor() : null);
+            }
+        }
+    }
+
+    /**
+     * Retourne une copie indépendante du plateau (le générateur et la source de tuiles sont partagés)
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard copy() {
+        return new TileBoard(this);
+    }
+
+    /**
+     * Recopie les couleurs, le hash et les compteurs d'un plateau de mêmes dimensions dans ce plateau, sans
+     * allocation.
+     * Le générateur, la graine et la source de tuiles de ce plateau sont conservés.
+     * @param other Plateau source
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard copyFrom(@NonNull TileBoard other) {
+        this.storage.copyFrom(other.storage);
+        this.hash = other.hash;
+        this.counts.copyFrom(other.counts);
+        if (this.regions != null && other.regions != null) {
+            this.regions.copyFrom(other.regions);
+        } else {
+            this.loadRegions();
+        }
+        return this;
+    }
+
+    /**
+     * Recalcule entièrement le hash et les compteurs, après une modification faite directement sur le stockage
+     * @return Le nouveau hash
+     * @since 0.0.1
+     */
+    public long rehash() {
+        this.hash = Zobrist.hash(this.storage);
+        this.counts.load(this.storage);
+        this.loadRegions();
+        return this.hash;
+    }
+
+    /**
+     * Indique si deux plateaux ont les mêmes dimensions et les mêmes couleurs, quel que soit leur stockage.
+     * Les hash sont comparés en premier : deux plateaux différents sont presque toujours écartés en O(1).
+     * @param other Autre plateau
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean sameTiles(TileBoard other) {
+        if (other == this) {
+            return true;
+        }
+        if (other == null || other.hash != this.hash || other.getWidth() != this.getWidth() || other.getHeight() != this.getHeight()) {
+            return false;
+        }
+        for (int y = 0; y < this.getHeight(); y++) {
+            for (int x = 0; x < this.getWidth(); x++) {
+                if (other.storage.get(x, y) != this.storage.get(x, y)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Reconstruit les compteurs par zone, s'ils sont utilisés
+     */
+    private void loadRegions() {
+        if (this.regions != null) {
+            this.regions.load(this.storage);
+        }
+    }
+
+    /**
+     * Retire ou ajoute les count premières cases d'une colonne aux compteurs par zone, s'ils sont utilisés
+     * @param x Colonne
+     * @param count Nombre de cases
+     * @param delta -1 ou 1
+     */
+    private void columnRegions(int x, int count, int delta) {
+        if (this.regions != null) {
+            this.regions.column(this.storage, x, count, delta);
+        }
+    }
+
+    // ---------------------------------------------- Object ----------------------------------------------
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof TileBoard)) {
+            return false;
+        }
+        TileBoard other = (TileBoard) o;
+        return this.sameTiles(other) && this.seed == other.seed && Objects.equals(this.generator, other.generator);
+    }
 
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.hash);
+    }
 }
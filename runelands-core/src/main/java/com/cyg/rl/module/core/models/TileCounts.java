@@ -0,0 +1,220 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.types.TileColor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Compteurs de tuiles d'un plateau par couleur, sur tout le plateau, par ligne et par colonne (les cases vides
+ * sont comptées comme une couleur supplémentaire). Ils sont tenus à jour par le plateau à chaque modification,
+ * ce qui rend toutes les lectures en O(1) ; seul le plateau peut les modifier.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileCounts {
+
+    // Constantes internes
+    private static final int                        KINDS = TileColor.count() + 1;
+    private static final int                        EMPTY_KIND = TileColor.count();
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final int[]                             totals;
+    private final int[]                             rows;
+    private final int[]                             columns;
+
+    /**
+     * Constructeur
+     * @param width Largeur du plateau
+     * @param height Hauteur du plateau
+     */
+    TileCounts(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.totals = new int[KINDS];
+        this.rows = new int[height * KINDS];
+        this.columns = new int[width * KINDS];
+    }
+
+    /**
+     * Constructeur de copie
+     * @param source Compteurs copiés
+     */
+    private TileCounts(TileCounts source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.totals = source.totals.clone();
+        this.rows = source.rows.clone();
+        this.columns = source.columns.clone();
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur le plateau
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int get(TileColor color) {
+        return this.totals[kind(color)];
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur une ligne
+     * @param y Ligne
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int getRow(int y, TileColor color) {
+        return this.rows[y * KINDS + kind(color)];
+    }
+
+    /**
+     * Retourne le nombre de tuiles d'une couleur sur une colonne
+     * @param x Colonne
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     * @since 0.0.1
+     */
+    public int getColumn(int x, TileColor color) {
+        return this.columns[x * KINDS + kind(color)];
+    }
+
+    /**
+     * Retourne le nombre de cases vides du plateau
+     * @return int
+     * @since 0.0.1
+     */
+    public int getEmpty() {
+        return this.totals[EMPTY_KIND];
+    }
+
+    /**
+     * Recopie l'histogramme des couleurs du plateau : result[ordinal] pour chaque couleur, puis le nombre de
+     * cases vides en result[TileColor.count()]
+     * @param result Tableau de destination, d'au moins TileColor.count() + 1 cases
+     * @return Le tableau de destination
+     * @since 0.0.1
+     */
+    public int[] histogram(@NonNull int[] result) {
+        System.arraycopy(this.totals, 0, result, 0, KINDS);
+        return result;
+    }
+
+    /**
+     * Retourne une copie figée des compteurs, pour la télémétrie
+     * @return TileCounts
+     * @since 0.0.1
+     */
+    public TileCounts snapshot() {
+        return new TileCounts(this);
+    }
+
+    // ---------------------------------------------- Object ----------------------------------------------
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof TileCounts)) {
+            return false;
+        }
+        TileCounts other = (TileCounts) o;
+        return Arrays.equals(this.totals, other.totals) && Arrays.equals(this.rows, other.rows) && Arrays.equals(this.columns, other.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.totals);
+    }
+
+    @Override
+    public String toString() {
+        return "TileCounts(" + Arrays.toString(this.totals) + ")";
+    }
+
+    // ------------------------------------ Méthodes du plateau ---------------------------------------
+    /**
+     * Recompte entièrement un stockage
+     * @param storage Stockage
+     */
+    void load(TileStorage storage) {
+        Arrays.fill(this.totals, 0);
+        Arrays.fill(this.rows, 0);
+        Arrays.fill(this.columns, 0);
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                this.add(x, y, storage.get(x, y), 1);
+            }
+        }
+    }
+
+    /**
+     * Reporte le changement de couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param old Ancienne couleur
+     * @param color Nouvelle couleur
+     */
+    void change(int x, int y, byte old, byte color) {
+        this.add(x, y, old, -1);
+        this.add(x, y, color, 1);
+    }
+
+    /**
+     * Retire (delta = -1) ou ajoute (delta = 1) les count premières cases d'une colonne
+     * @param storage Stockage
+     * @param x Colonne
+     * @param count Nombre de cases
+     * @param delta -1 ou 1
+     */
+    void column(TileStorage storage, int x, int count, int delta) {
+        for (int y = 0; y < count; y++) {
+            this.add(x, y, storage.get(x, y), delta);
+        }
+    }
+
+    /**
+     * Recopie les compteurs d'un plateau de mêmes dimensions
+     * @param other Compteurs source
+     */
+    void copyFrom(TileCounts other) {
+        System.arraycopy(other.totals, 0, this.totals, 0, KINDS);
+        System.arraycopy(other.rows, 0, this.rows, 0, this.rows.length);
+        System.arraycopy(other.columns, 0, this.columns, 0, this.columns.length);
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Ajoute delta aux compteurs d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param color Couleur
+     * @param delta Variation
+     */
+    private void add(int x, int y, byte color, int delta) {
+        int kind = color != TileStorage.EMPTY ? color : EMPTY_KIND;
+        this.totals[kind] += delta;
+        this.rows[y * KINDS + kind] += delta;
+        this.columns[x * KINDS + kind] += delta;
+    }
+
+    /**
+     * Retourne l'index d'une couleur dans les compteurs
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     */
+    private static int kind(TileColor color) {
+        return color != null ? color.ordinal() : EMPTY_KIND;
+    }
+}
@@ -1,23 +1,153 @@
 package com.cyg.rl.module.core.models;
 
-import lombok.AllArgsConstructor;
+import com.cyg.rl.module.core.generator.ConcurrentTileDeck;
+import com.cyg.rl.module.core.generator.DeckTileSource;
+import com.cyg.rl.module.core.generator.RandomTileSource;
+import com.cyg.rl.module.core.generator.SharedRandomTileSource;
+import com.cyg.rl.module.core.generator.TileSource;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * =================================================================================================================
- * Modèle correspondant à un générateur d'entrée de tuile
+ * Modèle correspondant à un générateur d'entrée de tuile.
+ * Les types LOCAL_* ouvrent une source propre à chaque plateau, initialisée avec la graine du plateau ; les types
+ * GLOBAL_* partagent une source unique, initialisée avec la graine du générateur, entre tous les plateaux qui
+ * utilisent ce générateur.
+ * Un générateur contraint (constrained) produit des plateaux sans alignement initial, en une seule passe
+ * (ConstrainedGeneration), avec la même répartition des couleurs que son type ; les remplissages de cascade ne
+ * sont pas contraints.
  *
  * @author Cyril Chevalier
  * @since 0.0.1
  * =================================================================================================================
  */
 @Data
-@AllArgsConstructor(staticName = "of")
 @NoArgsConstructor
-@Builder(toBuilder = true)
 public class TileGenerator {
+
+    // Constantes publiques
+    public static final int                     DEFAULT_DECK_COPIES = 8;
+
     // Membres internes
+    private TileGeneratorType                   type;
+    private long                                seed;
+    private int                                 deckCopies;
+    private boolean                             constrained;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient TileSource                sharedSource;
+
+    /**
+     * Constructeur
+     * @param type Type de générateur (LOCAL_RANDOM si null)
+     * @param seed Graine des sources partagées
+     * @param deckCopies Nombre d'exemplaires de chaque couleur dans un paquet (DEFAULT_DECK_COPIES si 0)
+     */
+    public TileGenerator(TileGeneratorType type, long seed, int deckCopies) {
+        this(type, seed, deckCopies, false);
+    }
+
+    /**
+     * Constructeur
+     * @param type Type de générateur (LOCAL_RANDOM si null)
+     * @param seed Graine des sources partagées
+     * @param deckCopies Nombre d'exemplaires de chaque couleur dans un paquet (DEFAULT_DECK_COPIES si 0)
+     * @param constrained Vrai pour générer des plateaux sans alignement initial
+     */
+    @Builder(toBuilder = true)
+    public TileGenerator(TileGeneratorType type, long seed, int deckCopies, boolean constrained) {
+        this.type = type;
+        this.seed = seed;
+        this.deckCopies = deckCopies;
+        this.constrained = constrained;
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Crée un générateur
+     * @param type Type de générateur
+     * @param seed Graine des sources partagées
+     * @param deckCopies Nombre d'exemplaires de chaque couleur dans un paquet
+     * @return TileGenerator
+     * @since 0.0.1
+     */
+    public static TileGenerator of(TileGeneratorType type, long seed, int deckCopies) {
+        return new TileGenerator(type, seed, deckCopies);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Ouvre la source de tuiles d'un plateau
+     * @param boardSeed Graine du plateau (ignorée pour les types GLOBAL_*)
+     * @return TileSource
+     * @since 0.0.1
+     */
+    public TileSource open(long boardSeed) {
+        return this.open(TileGeneratorData.of(this.getEffectiveType(), boardSeed, 0L));
+    }
+
+    /**
+     * Réouvre une source de tuiles dans l'état décrit (seuls les types LOCAL_* sont repositionnés)
+     * @param data État de la source
+     * @return TileSource
+     * @since 0.0.1
+     */
+    public TileSource open(TileGeneratorData data) {
+        switch (this.getEffectiveType()) {
+            case LOCAL_DECK:
+                return new DeckTileSource(this.getEffectiveDeckCopies(), data.getSeed(), data.getPosition());
+            case GLOBAL_DECK:
+            case GLOBAL_RANDOM:
+                return this.getSharedSource();
+            case LOCAL_RANDOM:
+            default:
+                return new RandomTileSource(data.getSeed(), data.getPosition());
+        }
+    }
+
+    /**
+     * Retourne le type effectif du générateur
+     * @return TileGeneratorType
+     * @since 0.0.1
+     */
+    @JsonIgnore
+    public TileGeneratorType getEffectiveType() {
+        return this.type != null ? this.type : TileGeneratorType.LOCAL_RANDOM;
+    }
+
+    /**
+     * Retourne le nombre effectif d'exemplaires de chaque couleur dans un paquet
+     * @return int
+     * @since 0.0.1
+     */
+    @JsonIgnore
+    public int getEffectiveDeckCopies() {
+        return this.deckCopies > 0 ? this.deckCopies : DEFAULT_DECK_COPIES;
+    }
 
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Retourne la source partagée par tous les plateaux de ce générateur, créée au premier appel
+     * @return TileSource
+     */
+    private synchronized TileSource getSharedSource() {
+        if (this.sharedSource == null) {
+            this.sharedSource = this.getEffectiveType() == TileGeneratorType.GLOBAL_DECK ?
+                    new ConcurrentTileDeck(this.getEffectiveDeckCopies(), this.seed) :
+                    new SharedRandomTileSource(this.seed);
+        }
+        return this.sharedSource;
+    }
 }
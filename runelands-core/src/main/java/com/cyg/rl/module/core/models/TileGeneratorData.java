@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 
 /**
  * =================================================================================================================
- * Modèle de base pour les données relatives au générateur d'entrée de tuile
+ * Modèle de base pour les données relatives au générateur d'entrée de tuile : état d'une source de tuiles
+ * locale, suffisant pour la recréer à l'identique (rejeu d'une partie)
  *
  * @author Cyril Chevalier
  * @since 0.0.1
@@ -21,4 +22,6 @@ import lombok.NoArgsConstructor;
 public class TileGeneratorData {
     // Membres internes
     private TileGeneratorType           type;
+    private long                        seed;
+    private long                        position;
 }
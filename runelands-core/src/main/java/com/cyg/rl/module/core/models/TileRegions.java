@@ -0,0 +1,296 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.types.TileColor;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Compteurs de tuiles d'un plateau par couleur sur une zone rectangulaire quelconque (effets de zone,
+ * heuristiques des IA). Un arbre de Fenwick à deux dimensions est tenu par couleur (les cases vides comptant
+ * comme une couleur supplémentaire) : une requête de zone comme la modification d'une case coûtent
+ * O(log(largeur) * log(hauteur)), au lieu d'un parcours de toute la zone. Ils sont tenus à jour par le plateau
+ * dès leur première utilisation ; seul le plateau peut les modifier.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileRegions {
+
+    // Constantes internes
+    private static final int                        KINDS = TileColor.count() + 1;
+    private static final int                        EMPTY_KIND = TileColor.count();
+
+    // Membres internes
+    @Getter
+    private final int                               width;
+    @Getter
+    private final int                               height;
+    private final int                               stride;
+    private final int[][]                           trees;
+
+    /**
+     * Constructeur
+     * @param width Largeur du plateau
+     * @param height Hauteur du plateau
+     */
+    TileRegions(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.stride = width + 1;
+        this.trees = new int[KINDS][this.stride * (height + 1)];
+    }
+
+    /**
+     * Constructeur de copie
+     * @param source Compteurs copiés
+     */
+    private TileRegions(TileRegions source) {
+        this.width = source.width;
+        this.height = source.height;
+        this.stride = source.stride;
+        this.trees = new int[KINDS][];
+        for (int kind = 0; kind < KINDS; kind++) {
+            this.trees[kind] = source.trees[kind].clone();
+        }
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le nombre de tuiles d'une couleur dans une zone rectangulaire
+     * @param color Couleur (null pour les cases vides)
+     * @param x Colonne du coin haut gauche
+     * @param y Ligne du coin haut gauche
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     * @return int
+     * @since 0.0.1
+     */
+    public int count(TileColor color, int x, int y, int width, int height) {
+        this.checkRegion(x, y, width, height);
+        return this.sum(this.trees[kind(color)], x, y, x + width, y + height);
+    }
+
+    /**
+     * Compte les tuiles d'une couleur dans plusieurs zones rectangulaires
+     * @param color Couleur (null pour les cases vides)
+     * @param regions Zones, à raison de 4 entiers (x, y, largeur, hauteur) par zone
+     * @param result Tableau de destination, d'au moins regions.length / 4 cases
+     * @return Le tableau de destination
+     * @since 0.0.1
+     */
+    public int[] count(TileColor color, @NonNull int[] regions, @NonNull int[] result) {
+        if ((regions.length & 3) != 0 || result.length < regions.length >> 2) {
+            throw new IllegalArgumentException("Tableaux de zones (" + regions.length + ") et de résultats (" + result.length + ") incohérents");
+        }
+        int[] tree = this.trees[kind(color)];
+        for (int i = 0, r = 0; i < regions.length; i += 4, r++) {
+            int x = regions[i];
+            int y = regions[i + 1];
+            this.checkRegion(x, y, regions[i + 2], regions[i + 3]);
+            result[r] = this.sum(tree, x, y, x + regions[i + 2], y + regions[i + 3]);
+        }
+        return result;
+    }
+
+    /**
+     * Recopie l'histogramme des couleurs d'une zone rectangulaire : result[ordinal] pour chaque couleur, puis le
+     * nombre de cases vides en result[TileColor.count()]
+     * @param x Colonne du coin haut gauche
+     * @param y Ligne du coin haut gauche
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     * @param result Tableau de destination, d'au moins TileColor.count() + 1 cases
+     * @return Le tableau de destination
+     * @since 0.0.1
+     */
+    public int[] histogram(int x, int y, int width, int height, @NonNull int[] result) {
+        this.checkRegion(x, y, width, height);
+        for (int kind = 0; kind < KINDS; kind++) {
+            result[kind] = this.sum(this.trees[kind], x, y, x + width, y + height);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne une copie figée des compteurs
+     * @return TileRegions
+     * @since 0.0.1
+     */
+    public TileRegions snapshot() {
+        return new TileRegions(this);
+    }
+
+    // ---------------------------------------------- Object ----------------------------------------------
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof TileRegions)) {
+            return false;
+        }
+        return Arrays.deepEquals(this.trees, ((TileRegions) o).trees);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(this.trees);
+    }
+
+    @Override
+    public String toString() {
+        return "TileRegions(" + this.width + "x" + this.height + ")";
+    }
+
+    // ------------------------------------ Méthodes du plateau ---------------------------------------
+    /**
+     * Reconstruit entièrement les arbres depuis un stockage, en O(largeur * hauteur)
+     * @param storage Stockage
+     */
+    void load(TileStorage storage) {
+        for (int[] tree : this.trees) {
+            Arrays.fill(tree, 0);
+        }
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                this.trees[kind(storage.get(x, y))][(y + 1) * this.stride + x + 1] = 1;
+            }
+        }
+        for (int[] tree : this.trees) {
+            for (int j = 1; j <= this.height; j++) {
+                for (int i = 1; i <= this.width; i++) {
+                    int parent = i + (i & -i);
+                    if (parent <= this.width) {
+                        tree[j * this.stride + parent] += tree[j * this.stride + i];
+                    }
+                }
+            }
+            for (int j = 1; j <= this.height; j++) {
+                int parent = j + (j & -j);
+                if (parent <= this.height) {
+                    for (int i = 1; i <= this.width; i++) {
+                        tree[parent * this.stride + i] += tree[j * this.stride + i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reporte le changement de couleur d'une case
+     * @param x Colonne
+     * @param y Ligne
+     * @param old Ancienne couleur
+     * @param color Nouvelle couleur
+     */
+    void change(int x, int y, byte old, byte color) {
+        this.add(this.trees[kind(old)], x, y, -1);
+        this.add(this.trees[kind(color)], x, y, 1);
+    }
+
+    /**
+     * Retire (delta = -1) ou ajoute (delta = 1) les count premières cases d'une colonne
+     * @param storage Stockage
+     * @param x Colonne
+     * @param count Nombre de cases
+     * @param delta -1 ou 1
+     */
+    void column(TileStorage storage, int x, int count, int delta) {
+        for (int y = 0; y < count; y++) {
+            this.add(this.trees[kind(storage.get(x, y))], x, y, delta);
+        }
+    }
+
+    /**
+     * Recopie les compteurs d'un plateau de mêmes dimensions
+     * @param other Compteurs source
+     */
+    void copyFrom(TileRegions other) {
+        for (int kind = 0; kind < KINDS; kind++) {
+            System.arraycopy(other.trees[kind], 0, this.trees[kind], 0, this.trees[kind].length);
+        }
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Ajoute delta à une case d'un arbre
+     * @param tree Arbre
+     * @param x Colonne
+     * @param y Ligne
+     * @param delta Variation
+     */
+    private void add(int[] tree, int x, int y, int delta) {
+        for (int j = y + 1; j <= this.height; j += j & -j) {
+            for (int i = x + 1; i <= this.width; i += i & -i) {
+                tree[j * this.stride + i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Retourne la somme d'un arbre sur la zone [x1, x2[ x [y1, y2[
+     * @param tree Arbre
+     * @param x1 Première colonne
+     * @param y1 Première ligne
+     * @param x2 Colonne suivant la dernière
+     * @param y2 Ligne suivant la dernière
+     * @return int
+     */
+    private int sum(int[] tree, int x1, int y1, int x2, int y2) {
+        return this.prefix(tree, x2, y2) - this.prefix(tree, x1, y2) - this.prefix(tree, x2, y1) + this.prefix(tree, x1, y1);
+    }
+
+    /**
+     * Retourne la somme d'un arbre sur la zone [0, x[ x [0, y[
+     * @param tree Arbre
+     * @param x Nombre de colonnes
+     * @param y Nombre de lignes
+     * @return int
+     */
+    private int prefix(int[] tree, int x, int y) {
+        int sum = 0;
+        for (int j = y; j > 0; j -= j & -j) {
+            for (int i = x; i > 0; i -= i & -i) {
+                sum += tree[j * this.stride + i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Vérifie qu'une zone est contenue dans le plateau
+     * @param x Colonne du coin haut gauche
+     * @param y Ligne du coin haut gauche
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     */
+    private void checkRegion(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > this.width || y + height > this.height) {
+            throw new IllegalArgumentException("Zone (" + x + ", " + y + ", " + width + "x" + height + ") hors du plateau "
+                    + this.width + "x" + this.height);
+        }
+    }
+
+    /**
+     * Retourne l'index d'une couleur dans les arbres
+     * @param color Couleur (null pour les cases vides)
+     * @return int
+     */
+    private static int kind(TileColor color) {
+        return color != null ? color.ordinal() : EMPTY_KIND;
+    }
+
+    /**
+     * Retourne l'index d'un ordinal de couleur dans les arbres
+     * @param color Ordinal de TileColor ou TileStorage.EMPTY
+     * @return int
+     */
+    private static int kind(byte color) {
+        return color != TileStorage.EMPTY ? color : EMPTY_KIND;
+    }
+}
@@ -0,0 +1,48 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.types.TileColor;
+
+/**
+ * =================================================================================================================
+ * Vue d'une case d'un plateau sous forme de Tile : la couleur est lue et écrite directement dans le stockage
+ * du plateau, la vue ne porte aucune donnée propre.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+class TileView extends Tile {
+
+    // Membres internes
+    private final TileBoard                         board;
+    private final int                               x;
+    private final int                               y;
+
+    /**
+     * Constructeur
+     * @param board Plateau
+     * @param x Colonne
+     * @param y Ligne
+     */
+    TileView(TileBoard board, int x, int y) {
+        this.board = board;
+        this.x = x;
+        this.y = y;
+    }
+
+    // ------------------------------------------------- Tile -------------------------------------------------
+    @Override
+    public TileColor getColor() {
+        return this.board.getColor(this.x, this.y);
+    }
+
+    @Override
+    public void setColor(TileColor color) {
+        this.board.setColor(this.x, this.y, color);
+    }
+
+    @Override
+    public TileBuilder toBuilder() {
+        return Tile.builder().color(this.getColor());
+    }
+}
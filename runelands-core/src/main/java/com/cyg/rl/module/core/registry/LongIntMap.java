@@ -0,0 +1,126 @@
+package com.cyg.rl.module.core.registry;
+
+import com.cyg.rl.module.core.generator.TileRandom;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Table de hachage long -> int à adressage ouvert (sondage linéaire), sur deux tableaux primitifs : aucune clé
+ * n'est boxée et une recherche n'alloue rien. Les valeurs doivent être positives ou nulles, -1 (MISSING)
+ * marquant une case libre. Pas de suppression : la table est prévue pour être remplie au chargement puis lue.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class LongIntMap {
+
+    // Constantes publiques
+    public static final int                         MISSING = -1;
+
+    // Membres internes
+    private long[]                                  keys;
+    private int[]                                   values;
+    private int                                     mask;
+    private int                                     size;
+
+    /**
+     * Constructeur
+     * @param expected Nombre de clés attendu (la table est dimensionnée pour ne pas être remplie à plus de 50 %)
+     */
+    public LongIntMap(int expected) {
+        this.allocate(Math.max(2, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1));
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne la valeur associée à une clé
+     * @param key Clé
+     * @return Valeur ou MISSING
+     * @since 0.0.1
+     */
+    public int get(long key) {
+        for (int index = index(key, this.mask); ; index = (index + 1) & this.mask) {
+            int value = this.values[index];
+            if (value == MISSING || this.keys[index] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Associe une valeur à une clé
+     * @param key Clé
+     * @param value Valeur (positive ou nulle)
+     * @return Valeur précédente ou MISSING
+     * @since 0.0.1
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valeur négative : " + value);
+        }
+        if ((this.size + 1) * 2 > this.keys.length) {
+            this.grow();
+        }
+        for (int index = index(key, this.mask); ; index = (index + 1) & this.mask) {
+            int previous = this.values[index];
+            if (previous == MISSING) {
+                this.keys[index] = key;
+                this.values[index] = value;
+                this.size++;
+                return MISSING;
+            }
+            if (this.keys[index] == key) {
+                this.values[index] = value;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de clés
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return this.size;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Alloue des tableaux vides
+     * @param capacity Capacité (puissance de 2)
+     */
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(this.values, MISSING);
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    /**
+     * Double la capacité de la table
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                this.put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Retourne la case initiale d'une clé
+     * @param key Clé
+     * @param mask Masque de la table
+     * @return int
+     */
+    private static int index(long key, int mask) {
+        return (int) TileRandom.mix(key) & mask;
+    }
+}
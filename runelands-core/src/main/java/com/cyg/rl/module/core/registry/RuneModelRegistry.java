@@ -0,0 +1,147 @@
+package com.cyg.rl.module.core.registry;
+
+import com.cyg.rl.module.core.models.RuneModel;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * =================================================================================================================
+ * Registre des modèles de runes, en lecture seule après chargement.
+ * Chaque modèle reçoit au chargement un emplacement dense (0..size-1), dans l'ordre du catalogue. Les
+ * recherches par identifiant passent par un tableau direct indexé par (id - minId) quand les identifiants sont
+ * assez compacts, sinon par une table LongIntMap : aucune ne boxe l'identifiant ni n'alloue. Les traitements
+ * intensifs conservent de préférence l'emplacement plutôt que l'identifiant.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class RuneModelRegistry {
+
+    // Constantes publiques
+    public static final int                         MISSING = LongIntMap.MISSING;
+
+    // Constantes internes
+    private static final int                        MAX_DIRECT_RATIO = 4;
+
+    // Membres internes
+    private final RuneModel[]                       models;
+    private final long[]                            ids;
+    private final long                              minId;
+    private final int[]                             direct;
+    private final LongIntMap                        index;
+
+    /**
+     * Constructeur
+     * @param catalog Catalogue des modèles (identifiants non nuls et distincts)
+     */
+    private RuneModelRegistry(Collection<RuneModel> catalog) {
+        int size = catalog.size();
+        this.models = new RuneModel[size];
+        this.ids = new long[size];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        int slot = 0;
+        for (RuneModel model : catalog) {
+            if (model == null || model.getId() == null) {
+                throw new IllegalArgumentException("Modèle de rune sans identifiant à l'emplacement " + slot);
+            }
+            long id = model.getId();
+            this.models[slot] = model;
+            this.ids[slot++] = id;
+            min = Math.min(min, id);
+            max = Math.max(max, id);
+        }
+        this.minId = size > 0 ? min : 0L;
+        long range = size > 0 ? max - min + 1 : 0L;
+        if (range > 0L && range <= (long) size * MAX_DIRECT_RATIO) {
+            this.direct = new int[(int) range];
+            Arrays.fill(this.direct, MISSING);
+            this.index = null;
+        } else {
+            this.direct = null;
+            this.index = new LongIntMap(size);
+        }
+        for (slot = 0; slot < size; slot++) {
+            int previous;
+            if (this.direct != null) {
+                int offset = (int) (this.ids[slot] - this.minId);
+                previous = this.direct[offset];
+                this.direct[offset] = slot;
+            } else {
+                previous = this.index.put(this.ids[slot], slot);
+            }
+            if (previous != MISSING) {
+                throw new IllegalArgumentException("Identifiant de rune en double : " + this.ids[slot]);
+            }
+        }
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Charge un catalogue de modèles
+     * @param catalog Catalogue (identifiants non nuls et distincts)
+     * @return RuneModelRegistry
+     * @since 0.0.1
+     */
+    public static RuneModelRegistry of(@NonNull Collection<RuneModel> catalog) {
+        return new RuneModelRegistry(catalog);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne l'emplacement d'un modèle
+     * @param id Identifiant du modèle
+     * @return Emplacement ou MISSING
+     * @since 0.0.1
+     */
+    public int slot(long id) {
+        if (this.direct != null) {
+            long offset = id - this.minId;
+            return offset >= 0L && offset < this.direct.length ? this.direct[(int) offset] : MISSING;
+        }
+        return this.index.get(id);
+    }
+
+    /**
+     * Retourne le modèle d'un emplacement
+     * @param slot Emplacement
+     * @return RuneModel
+     * @since 0.0.1
+     */
+    public RuneModel get(int slot) {
+        return this.models[slot];
+    }
+
+    /**
+     * Retourne un modèle à partir de son identifiant
+     * @param id Identifiant
+     * @return RuneModel ou null s'il est inconnu
+     * @since 0.0.1
+     */
+    public RuneModel find(long id) {
+        int slot = this.slot(id);
+        return slot != MISSING ? this.models[slot] : null;
+    }
+
+    /**
+     * Retourne l'identifiant du modèle d'un emplacement, sans déboxage
+     * @param slot Emplacement
+     * @return long
+     * @since 0.0.1
+     */
+    public long getId(int slot) {
+        return this.ids[slot];
+    }
+
+    /**
+     * Retourne le nombre de modèles
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return this.models.length;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cyg.rl.module.core.simulation;
+
+import lombok.Data;
+
+/**
+ * =================================================================================================================
+ * Résultat d'une partie simulée. L'instance est réutilisée d'une partie à l'autre par le simulateur.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Data
+public class GameRecord {
+
+    // Constantes publiques
+    public static final int                     DRAW = -1;
+    public static final int                     PLAYER = 0;
+    public static final int                     OPPONENT = 1;
+
+    // Membres internes
+    private long                                index;
+    private long                                seed;
+    private int                                 winner;
+    private int                                 turns;
+    private int                                 playerLife;
+    private int                                 opponentLife;
+    private long                                matchedTiles;
+    private int                                 maxCascadeDepth;
+    private int                                 reshuffles;
+}
@@ -0,0 +1,293 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.effects.EffectPipeline;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.generator.TileRandom;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * =================================================================================================================
+ * Simulateur de parties sans affichage, pour l'équilibrage.
+ * Chaque partie reçoit sa propre graine, dérivée de la graine de la campagne et de son numéro : génération du
+ * plateau, choix des coups et remplissages sont entièrement déterminés par cette graine, quel que soit le thread
+ * qui joue la partie. Une partie atypique peut donc être rejouée à l'identique avec replay(numéro).
+ * Règles simulées : les joueurs jouent à tour de rôle ; chaque tuile supprimée par le coup et sa cascade inflige
+ * damagePerTile points d'attaque à l'adversaire ; un plateau sans coup légal est regénéré ; la partie s'arrête à
+ * la mort d'un joueur ou au bout de maxTurns tours (match nul).
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MatchSimulator {
+
+    // Constantes internes
+    private static final int                        CHUNK = 64;
+    private static final int                        MAX_RESHUFFLES = 16;
+    private static final long                       POLICY_SALT = 0x9A11C7L;
+
+    // Membres internes
+    @Getter
+    private final SimulationConfig                  config;
+
+    /**
+     * Constructeur
+     * @param config Paramètres de la campagne
+     */
+    public MatchSimulator(@NonNull SimulationConfig config) {
+        this.config = config;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Simule toutes les parties de la campagne sur config.parallelism threads
+     * @return SimulationReport
+     * @since 0.0.1
+     */
+    public SimulationReport run() {
+        long start = System.nanoTime();
+        int threads = Math.max(1, this.config.getParallelism());
+        AtomicLong next = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Stats>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> this.work(next)));
+            }
+            Stats total = new Stats();
+            for (Future<Stats> future : futures) {
+                total.merge(future.get());
+            }
+            return total.toReport(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de la simulation", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Rejoue une partie de la campagne à l'identique
+     * @param index Numéro de la partie
+     * @return GameRecord
+     * @since 0.0.1
+     */
+    public GameRecord replay(long index) {
+        GameRecord record = new GameRecord();
+        new Game(this.config).play(index, TileRandom.derive(this.config.getSeed(), index), record);
+        return record;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Boucle d'un thread de simulation : réserve des lots de parties jusqu'à épuisement de la campagne
+     * @param next Numéro de la prochaine partie à réserver
+     * @return Statistiques du thread
+     */
+    private Stats work(AtomicLong next) {
+        Game game = new Game(this.config);
+        GameRecord record = new GameRecord();
+        Stats stats = new Stats();
+        long games = this.config.getGames();
+        long seed = this.config.getSeed();
+        for (long first = next.getAndAdd(CHUNK); first < games; first = next.getAndAdd(CHUNK)) {
+            for (long index = first, end = Math.min(games, first + CHUNK); index < end; index++) {
+                game.play(index, TileRandom.derive(seed, index), record);
+                stats.add(record);
+            }
+        }
+        return stats;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * État de travail d'un thread : plateau, moteurs, joueurs et stratégies, réutilisés de partie en partie
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Game {
+
+        // Membres internes
+        private final SimulationConfig              config;
+        private final TileBoard                     board;
+        private final CascadeResolver               resolver;
+        private final EffectPipeline                pipeline = new EffectPipeline();
+        private final Player[]                      players = { new Player(), new Player() };
+        private final MovePolicy[]                  policies;
+        private final int[]                         moves;
+
+        /**
+         * Constructeur
+         * @param config Paramètres de la campagne
+         */
+        private Game(SimulationConfig config) {
+            this.config = config;
+            this.board = TileBoard.of(config.getGenerator(), new PackedTileStorage(config.getWidth(), config.getHeight()));
+            this.resolver = CascadeResolver.of(this.board);
+            this.policies = new MovePolicy[] { config.getPlayerPolicy().get(), config.getOpponentPolicy().get() };
+            this.moves = new int[2 * config.getWidth() * config.getHeight()];
+        }
+
+        /**
+         * Joue une partie complète
+         * @param index Numéro de la partie
+         * @param seed Graine de la partie
+         * @param record Résultat (réinitialisé)
+         */
+        private void play(long index, long seed, GameRecord record) {
+            record.setIndex(index);
+            record.setSeed(seed);
+            record.setWinner(GameRecord.DRAW);
+            record.setMatchedTiles(0L);
+            record.setMaxCascadeDepth(0);
+            record.setReshuffles(0);
+            this.board.reset(this.config.getGenerator(), seed);
+            this.resolver.resolve(this.board);
+            this.players[0].setLife(this.config.getInitialLife());
+            this.players[1].setLife(this.config.getInitialLife());
+            this.pipeline.clear();
+            int turn = 0;
+            while (turn < this.config.getMaxTurns()) {
+                int count = Moves.find(this.board, this.moves);
+                if (count == 0) {
+                    if (record.getReshuffles() >= MAX_RESHUFFLES) {
+                        break;
+                    }
+                    record.setReshuffles(record.getReshuffles() + 1);
+                    this.regenerate();
+                    continue;
+                }
+                int current = turn & 1;
+                int choice = this.policies[current].choose(this.board, this.moves, count, TileRandom.at(seed ^ POLICY_SALT, turn));
+                Moves.play(this.resolver, this.board, this.moves[choice]);
+                turn++;
+                record.setMatchedTiles(record.getMatchedTiles() + this.resolver.getMatchedTotal());
+                record.setMaxCascadeDepth(Math.max(record.getMaxCascadeDepth(), this.resolver.getDepth()));
+                this.pipeline.add(EffectType.ATTACK, EffectTarget.OPPONENT, this.resolver.getMatchedTotal() * this.config.getDamagePerTile());
+                Player player = this.players[current];
+                Player opponent = this.players[current ^ 1];
+                this.pipeline.apply(player, opponent);
+                if (opponent.getLife() <= 0) {
+                    record.setWinner(current);
+                    break;
+                }
+            }
+            record.setTurns(turn);
+            record.setPlayerLife(this.players[0].getLife());
+            record.setOpponentLife(this.players[1].getLife());
+        }
+
+        /**
+         * Génère un nouveau plateau depuis la source de la partie et résout ses alignements initiaux
+         */
+        private void regenerate() {
+            this.board.generate();
+            this.resolver.resolve(this.board);
+        }
+    }
+
+    /**
+     * Statistiques cumulées par un thread
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Stats {
+
+        // Membres internes
+        private long                                games;
+        private final long[]                        wins = new long[2];
+        private long                                draws;
+        private long                                totalTurns;
+        private int                                 maxTurns = -1;
+        private long                                longestGame = -1L;
+        private long                                matchedTiles;
+        private int                                 maxCascadeDepth = -1;
+        private long                                deepestCascadeGame = -1L;
+
+        /**
+         * Ajoute le résultat d'une partie
+         * @param record Résultat
+         */
+        private void add(GameRecord record) {
+            this.games++;
+            if (record.getWinner() == GameRecord.DRAW) {
+                this.draws++;
+            } else {
+                this.wins[record.getWinner()]++;
+            }
+            this.totalTurns += record.getTurns();
+            this.matchedTiles += record.getMatchedTiles();
+            if (record.getTurns() > this.maxTurns) {
+                this.maxTurns = record.getTurns();
+                this.longestGame = record.getIndex();
+            }
+            if (record.getMaxCascadeDepth() > this.maxCascadeDepth) {
+                this.maxCascadeDepth = record.getMaxCascadeDepth();
+                this.deepestCascadeGame = record.getIndex();
+            }
+        }
+
+        /**
+         * Fusionne les statistiques d'un autre thread
+         * @param other Statistiques
+         */
+        private void merge(Stats other) {
+            this.games += other.games;
+            this.wins[0] += other.wins[0];
+            this.wins[1] += other.wins[1];
+            this.draws += other.draws;
+            this.totalTurns += other.totalTurns;
+            this.matchedTiles += other.matchedTiles;
+            if (other.maxTurns > this.maxTurns || (other.maxTurns == this.maxTurns && other.longestGame < this.longestGame)) {
+                this.maxTurns = other.maxTurns;
+                this.longestGame = other.longestGame;
+            }
+            if (other.maxCascadeDepth > this.maxCascadeDepth
+                    || (other.maxCascadeDepth == this.maxCascadeDepth && other.deepestCascadeGame < this.deepestCascadeGame)) {
+                this.maxCascadeDepth = other.maxCascadeDepth;
+                this.deepestCascadeGame = other.deepestCascadeGame;
+            }
+        }
+
+        /**
+         * Construit le rapport final
+         * @param elapsedNanos Durée de la campagne
+         * @return SimulationReport
+         */
+        private SimulationReport toReport(long elapsedNanos) {
+            return SimulationReport.builder()
+                    .games(this.games)
+                    .playerWins(this.wins[GameRecord.PLAYER])
+                    .opponentWins(this.wins[GameRecord.OPPONENT])
+                    .draws(this.draws)
+                    .totalTurns(this.totalTurns)
+                    .maxTurns(Math.max(0, this.maxTurns))
+                    .longestGame(this.longestGame)
+                    .matchedTiles(this.matchedTiles)
+                    .maxCascadeDepth(Math.max(0, this.maxCascadeDepth))
+                    .deepestCascadeGame(this.deepestCascadeGame)
+                    .elapsedNanos(elapsedNanos)
+                    .build();
+        }
+    }
+}
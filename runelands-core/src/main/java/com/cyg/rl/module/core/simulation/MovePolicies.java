@@ -0,0 +1,77 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.generator.TileRandom;
+import com.cyg.rl.module.core.models.TileBoard;
+
+import java.util.function.Supplier;
+
+/**
+ * =================================================================================================================
+ * Fabriques des stratégies de choix de coup fournies par défaut
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class MovePolicies {
+
+    /**
+     * Constructeur privé
+     */
+    private MovePolicies() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Stratégie choisissant un coup légal au hasard
+     * @return Fabrique de stratégie
+     * @since 0.0.1
+     */
+    public static Supplier<MovePolicy> random() {
+        return () -> (board, moves, count, random) -> TileRandom.bounded(random, count);
+    }
+
+    /**
+     * Stratégie choisissant le coup qui supprime immédiatement le plus de tuiles (cascade sans remplissage)
+     * @return Fabrique de stratégie
+     * @since 0.0.1
+     */
+    public static Supplier<MovePolicy> greedy() {
+        return GreedyPolicy::new;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Stratégie gloutonne : conserve son plateau et son moteur de résolution de travail
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class GreedyPolicy implements MovePolicy {
+
+        // Membres internes
+        private TileBoard                           scratch;
+        private CascadeResolver                     resolver;
+
+        @Override
+        public int choose(TileBoard board, int[] moves, int count, long random) {
+            if (this.scratch == null || this.scratch.getWidth() != board.getWidth() || this.scratch.getHeight() != board.getHeight()) {
+                this.scratch = TileBoard.of(null, new PackedTileStorage(board.getWidth(), board.getHeight()));
+                this.resolver = CascadeResolver.of(board);
+            }
+            int best = 0;
+            int bestScore = -1;
+            for (int i = 0; i < count; i++) {
+                Moves.play(this.resolver, this.scratch.copyFrom(board), moves[i]);
+                if (this.resolver.getMatchedTotal() > bestScore) {
+                    bestScore = this.resolver.getMatchedTotal();
+                    best = i;
+                }
+            }
+            return best;
+        }
+    }
+}
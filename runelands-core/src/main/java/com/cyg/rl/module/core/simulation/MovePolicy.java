@@ -0,0 +1,27 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.models.TileBoard;
+
+/**
+ * =================================================================================================================
+ * Interface représentant une stratégie de choix de coup pour la simulation.
+ * Une instance est créée par thread de simulation : elle peut conserver des données de travail.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@FunctionalInterface
+public interface MovePolicy {
+
+    /**
+     * Choisit un coup parmi les coups légaux
+     * @param board Plateau (ne doit pas être modifié)
+     * @param moves Coups légaux (voir Moves)
+     * @param count Nombre de coups légaux (au moins 1)
+     * @param random Valeur pseudo-aléatoire propre à cette décision, pour rester déterministe
+     * @return Index du coup choisi dans moves
+     * @since 0.0.1
+     */
+    int choose(TileBoard board, int[] moves, int count, long random);
+}
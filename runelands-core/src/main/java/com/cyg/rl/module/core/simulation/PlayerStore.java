@@ -0,0 +1,251 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.models.Player;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * =================================================================================================================
+ * Stockage en colonnes des joueurs de nombreuses parties simulées : chaque caractéristique est un tableau
+ * primitif indexé par numéro de joueur (un joueur n'est plus un objet). Les opérations de masse sont des
+ * boucles simples sur tableaux, sans branche, que le JIT peut dérouler et vectoriser. Les nouvelles
+ * caractéristiques s'ajoutent comme de nouvelles colonnes, agrandies avec les autres dans ensureCapacity.
+ * La conversion vers et depuis le modèle Player est réservée aux frontières d'API.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class PlayerStore {
+
+    // Membres internes
+    private int[]                                   life;
+    private int                                     size;
+
+    /**
+     * Constructeur
+     * @param capacity Nombre de joueurs prévu
+     */
+    public PlayerStore(int capacity) {
+        this.life = new int[Math.max(1, capacity)];
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Ajoute un joueur
+     * @param life Points de vie
+     * @return Numéro du joueur
+     * @since 0.0.1
+     */
+    public int add(int life) {
+        this.ensureCapacity(this.size + 1);
+        this.life[this.size] = life;
+        return this.size++;
+    }
+
+    /**
+     * Ajoute un joueur à partir de son modèle
+     * @param player Joueur
+     * @return Numéro du joueur
+     * @since 0.0.1
+     */
+    public int add(@NonNull Player player) {
+        return this.add(player.getLife());
+    }
+
+    /**
+     * Ajoute count joueurs aux mêmes points de vie
+     * @param count Nombre de joueurs
+     * @param life Points de vie
+     * @return Numéro du premier joueur ajouté
+     * @since 0.0.1
+     */
+    public int addAll(int count, int life) {
+        int first = this.size;
+        this.ensureCapacity(first + count);
+        Arrays.fill(this.life, first, first + count, life);
+        this.size += count;
+        return first;
+    }
+
+    /**
+     * Retourne le nombre de joueurs
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retire tous les joueurs, sans libérer les tableaux
+     * @since 0.0.1
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Retourne les points de vie d'un joueur
+     * @param index Numéro du joueur
+     * @return int
+     * @since 0.0.1
+     */
+    public int getLife(int index) {
+        this.check(index);
+        return this.life[index];
+    }
+
+    /**
+     * Modifie les points de vie d'un joueur
+     * @param index Numéro du joueur
+     * @param life Points de vie
+     * @since 0.0.1
+     */
+    public void setLife(int index, int life) {
+        this.check(index);
+        this.life[index] = life;
+    }
+
+    /**
+     * Redonne les mêmes points de vie à tous les joueurs
+     * @param life Points de vie
+     * @since 0.0.1
+     */
+    public void resetLife(int life) {
+        Arrays.fill(this.life, 0, this.size, life);
+    }
+
+    /**
+     * Inflige à chaque joueur i les dégâts damage[i]
+     * @param damage Dégâts, au moins size() valeurs
+     * @since 0.0.1
+     */
+    public void applyDamage(@NonNull int[] damage) {
+        this.applyDamage(damage, 0, 0, this.size);
+    }
+
+    /**
+     * Inflige aux joueurs first..first+count-1 les dégâts damage[offset..offset+count-1]
+     * @param damage Dégâts
+     * @param offset Index du premier dégât
+     * @param first Numéro du premier joueur
+     * @param count Nombre de joueurs
+     * @since 0.0.1
+     */
+    public void applyDamage(@NonNull int[] damage, int offset, int first, int count) {
+        if (first < 0 || count < 0 || first + count > this.size || offset < 0 || offset + count > damage.length) {
+            throw new IndexOutOfBoundsException("Plage invalide : " + first + "+" + count + " sur " + this.size + " joueurs");
+        }
+        int[] values = this.life;
+        for (int i = 0; i < count; i++) {
+            values[first + i] -= damage[offset + i];
+        }
+    }
+
+    /**
+     * Inflige les mêmes dégâts à tous les joueurs
+     * @param damage Dégâts
+     * @since 0.0.1
+     */
+    public void applyDamage(int damage) {
+        int[] values = this.life;
+        for (int i = 0; i < this.size; i++) {
+            values[i] -= damage;
+        }
+    }
+
+    /**
+     * Compte les joueurs morts (points de vie inférieurs ou égaux à 0)
+     * @return int
+     * @since 0.0.1
+     */
+    public int countDead() {
+        int[] values = this.life;
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            count += values[i] <= 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Recopie dans result les numéros des joueurs morts, par ordre croissant
+     * @param result Tableau de destination, d'au moins size() cases
+     * @return Nombre de joueurs morts
+     * @since 0.0.1
+     */
+    public int findDead(@NonNull int[] result) {
+        int[] values = this.life;
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            result[count] = i;
+            count += values[i] <= 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Indique si un joueur est mort
+     * @param index Numéro du joueur
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean isDead(int index) {
+        return this.getLife(index) <= 0;
+    }
+
+    /**
+     * Recopie un joueur dans un modèle existant
+     * @param index Numéro du joueur
+     * @param player Modèle de destination
+     * @return Le modèle de destination
+     * @since 0.0.1
+     */
+    public Player toPlayer(int index, @NonNull Player player) {
+        player.setLife(this.getLife(index));
+        return player;
+    }
+
+    /**
+     * Crée le modèle d'un joueur
+     * @param index Numéro du joueur
+     * @return Player
+     * @since 0.0.1
+     */
+    public Player toPlayer(int index) {
+        return this.toPlayer(index, new Player());
+    }
+
+    /**
+     * Recopie un modèle dans un joueur
+     * @param index Numéro du joueur
+     * @param player Modèle
+     * @since 0.0.1
+     */
+    public void set(int index, @NonNull Player player) {
+        this.setLife(index, player.getLife());
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Agrandit les colonnes si besoin
+     * @param capacity Nombre de joueurs à pouvoir stocker
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.life.length) {
+            this.life = Arrays.copyOf(this.life, Math.max(capacity, this.life.length * 2));
+        }
+    }
+
+    /**
+     * Vérifie un numéro de joueur
+     * @param index Numéro du joueur
+     */
+    private void check(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Joueur " + index + " inexistant (" + this.size + " joueurs)");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.models.TileGenerator;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.function.Supplier;
+
+/**
+ * =================================================================================================================
+ * Paramètres d'une campagne de simulation de parties.
+ * Le rejeu exact d'une partie suppose un générateur de type LOCAL_* : les types GLOBAL_* partagent leur source
+ * entre toutes les parties simulées en parallèle.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Data
+@Builder(toBuilder = true)
+public class SimulationConfig {
+
+    // Membres internes
+    @Builder.Default
+    private int                                 width = 8;
+    @Builder.Default
+    private int                                 height = 8;
+    @Builder.Default
+    private TileGenerator                       generator = new TileGenerator();
+    @Builder.Default
+    private int                                 initialLife = 100;
+    @Builder.Default
+    private int                                 damagePerTile = 1;
+    @Builder.Default
+    private int                                 maxTurns = 200;
+    @Builder.Default
+    private long                                games = 1000L;
+    private long                                seed;
+    @Builder.Default
+    private int                                 parallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private Supplier<MovePolicy>                playerPolicy = MovePolicies.greedy();
+    @Builder.Default
+    private Supplier<MovePolicy>                opponentPolicy = MovePolicies.greedy();
+}
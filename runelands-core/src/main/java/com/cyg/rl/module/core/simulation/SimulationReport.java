@@ -0,0 +1,58 @@
+package com.cyg.rl.module.core.simulation;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * =================================================================================================================
+ * Statistiques agrégées d'une campagne de simulation
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+@Value
+@Builder
+public class SimulationReport {
+
+    // Membres internes
+    private long                                games;
+    private long                                playerWins;
+    private long                                opponentWins;
+    private long                                draws;
+    private long                                totalTurns;
+    private int                                 maxTurns;
+    private long                                longestGame;
+    private long                                matchedTiles;
+    private int                                 maxCascadeDepth;
+    private long                                deepestCascadeGame;
+    private long                                elapsedNanos;
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retourne le débit de simulation
+     * @return Parties par seconde
+     * @since 0.0.1
+     */
+    public double getGamesPerSecond() {
+        return this.elapsedNanos > 0 ? this.games * 1e9 / this.elapsedNanos : 0d;
+    }
+
+    /**
+     * Retourne le nombre moyen de tours par partie
+     * @return double
+     * @since 0.0.1
+     */
+    public double getAverageTurns() {
+        return this.games > 0 ? (double) this.totalTurns / this.games : 0d;
+    }
+
+    /**
+     * Retourne le taux de victoire du joueur qui commence
+     * @return double
+     * @since 0.0.1
+     */
+    public double getPlayerWinRate() {
+        return this.games > 0 ? (double) this.playerWins / this.games : 0d;
+    }
+}
@@ -0,0 +1,195 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * =================================================================================================================
+ * Réserve bornée de plateaux, propre à chaque thread, pour les simulations qui enchaînent les parties.
+ * acquire() réutilise un plateau libéré de mêmes dimensions et le réinitialise sur place (TileBoard.reset) ;
+ * à défaut, un nouveau plateau est créé. release() rend le plateau à la réserve du thread appelant, dans la
+ * limite de maxPerSize plateaux par taille (au-delà, il est abandonné au ramasse-miettes). Un plateau ne doit
+ * plus être utilisé après sa libération.
+ * Les compteurs (réutilisations, créations, abandons) sont cumulés sur tous les threads.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardPool {
+
+    // Constantes publiques
+    public static final int                         DEFAULT_MAX_PER_SIZE = 16;
+
+    // Membres internes
+    private final int                               maxPerSize;
+    private final ThreadLocal<Shelf[]>              shelves = ThreadLocal.withInitial(() -> new Shelf[0]);
+    private final LongAdder                         hits = new LongAdder();
+    private final LongAdder                         misses = new LongAdder();
+    private final LongAdder                         discards = new LongAdder();
+
+    /**
+     * Constructeur
+     * @param maxPerSize Nombre maximal de plateaux libres par taille et par thread
+     */
+    public TileBoardPool(int maxPerSize) {
+        if (maxPerSize < 0) {
+            throw new IllegalArgumentException("Taille de réserve invalide : " + maxPerSize);
+        }
+        this.maxPerSize = maxPerSize;
+    }
+
+    /**
+     * Constructeur
+     */
+    public TileBoardPool() {
+        this(DEFAULT_MAX_PER_SIZE);
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Fournit un plateau généré pour une nouvelle partie
+     * @param generator Générateur de tuiles
+     * @param width Largeur
+     * @param height Hauteur
+     * @param seed Graine de la partie
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public TileBoard acquire(@NonNull TileGenerator generator, int width, int height, long seed) {
+        Shelf shelf = this.shelf(width, height, false);
+        if (shelf != null && shelf.count > 0) {
+            TileBoard board = shelf.boards[--shelf.count];
+            shelf.boards[shelf.count] = null;
+            this.hits.increment();
+            return board.reset(generator, seed);
+        }
+        this.misses.increment();
+        return TileBoard.of(generator, new PackedTileStorage(width, height)).reset(generator, seed);
+    }
+
+    /**
+     * Rend un plateau à la réserve du thread appelant
+     * @param board Plateau
+     * @since 0.0.1
+     */
+    public void release(@NonNull TileBoard board) {
+        Shelf shelf = this.shelf(board.getWidth(), board.getHeight(), true);
+        if (shelf.count < this.maxPerSize) {
+            board.setSource(null);
+            shelf.boards[shelf.count++] = board;
+        } else {
+            this.discards.increment();
+        }
+    }
+
+    /**
+     * Retourne le nombre de plateaux fournis par réutilisation
+     * @return long
+     * @since 0.0.1
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Retourne le nombre de plateaux créés faute de plateau libre
+     * @return long
+     * @since 0.0.1
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Retourne le nombre de plateaux libérés mais abandonnés, la réserve étant pleine
+     * @return long
+     * @since 0.0.1
+     */
+    public long getDiscards() {
+        return this.discards.sum();
+    }
+
+    /**
+     * Retourne la proportion de plateaux fournis par réutilisation
+     * @return double (0 si aucun plateau n'a été fourni)
+     * @since 0.0.1
+     */
+    public double getHitRate() {
+        long hits = this.getHits();
+        long total = hits + this.getMisses();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    /**
+     * Retourne le nombre de plateaux libres dans la réserve du thread appelant
+     * @return int
+     * @since 0.0.1
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (Shelf shelf : this.shelves.get()) {
+            count += shelf.count;
+        }
+        return count;
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Retourne l'étagère d'une taille dans la réserve du thread appelant (les tailles sont peu nombreuses : une
+     * recherche linéaire suffit et n'alloue rien)
+     * @param width Largeur
+     * @param height Hauteur
+     * @param create Vrai pour créer l'étagère si elle n'existe pas
+     * @return Shelf ou null
+     */
+    private Shelf shelf(int width, int height, boolean create) {
+        Shelf[] current = this.shelves.get();
+        for (Shelf shelf : current) {
+            if (shelf.width == width && shelf.height == height) {
+                return shelf;
+            }
+        }
+        if (!create) {
+            return null;
+        }
+        Shelf shelf = new Shelf(width, height, this.maxPerSize);
+        Shelf[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = shelf;
+        this.shelves.set(grown);
+        return shelf;
+    }
+
+    // ---------------------- Classes internes ----------------
+    /**
+     * Plateaux libres d'une taille, pour un thread
+     *
+     * @author Cyril Chevalier
+     * @since 0.0.1
+     */
+    private static final class Shelf {
+
+        // Membres internes
+        private final int                           width;
+        private final int                           height;
+        private final TileBoard[]                   boards;
+        private int                                 count;
+
+        /**
+         * Constructeur
+         * @param width Largeur
+         * @param height Hauteur
+         * @param capacity Nombre maximal de plateaux libres
+         */
+        private Shelf(int width, int height, int capacity) {
+            this.width = width;
+            this.height = height;
+            this.boards = new TileBoard[capacity];
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.cyg.rl.module.core.spectator;
+
+import com.cyg.rl.module.core.codec.BinaryCodec;
+import com.cyg.rl.module.core.codec.BoardDelta;
+import com.cyg.rl.module.core.codec.VarInts;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * =================================================================================================================
+ * Diffusion des mises à jour d'une partie à ses spectateurs.
+ * Chaque mise à jour (instantané complet ou delta du plateau, suivi de l'état des joueurs) est encodée une seule
+ * fois dans un tampon en lecture seule ; chaque spectateur reçoit une simple vue (duplicate) de ce tampon, avec
+ * sa propre position, sans réencodage du plateau ni des joueurs. Les spectateurs lents sont bornés par l'anneau
+ * de leur abonnement (voir Subscription) et ne ralentissent jamais la partie.
+ * Les méthodes publish* doivent être appelées par le seul thread de la partie ; subscribe et close peuvent être
+ * appelés depuis n'importe quel thread.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class SpectatorFanout {
+
+    // Constantes publiques
+    public static final int                         DEFAULT_CAPACITY = 64;
+    public static final byte                        SNAPSHOT = 1;
+    public static final byte                        DELTA = 2;
+
+    // Membres internes
+    private final int                               capacity;
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructeur
+     * @param capacity Nombre de messages en attente par spectateur (arrondi à la puissance de 2 supérieure)
+     */
+    public SpectatorFanout(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacité invalide : " + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity * 2 - 1);
+    }
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Applique un message reçu à l'état local d'un spectateur
+     * @param message Message
+     * @param board Plateau du spectateur (aux dimensions de la partie)
+     * @param players Joueurs du spectateur
+     * @return Type du message (SNAPSHOT ou DELTA)
+     * @since 0.0.1
+     */
+    public static byte read(@NonNull ByteBuffer message, @NonNull TileBoard board, @NonNull Player... players) {
+        byte type = message.get();
+        switch (type) {
+            case SNAPSHOT:
+                BinaryCodec.readBoard(message, board);
+                break;
+            case DELTA:
+                BoardDelta.apply(message, board);
+                break;
+            default:
+                throw new IllegalArgumentException("Type de message inconnu : " + type);
+        }
+        int count = VarInts.getUnsigned(message);
+        if (count != players.length) {
+            throw new IllegalArgumentException(count + " joueurs reçus au lieu de " + players.length);
+        }
+        for (Player player : players) {
+            BinaryCodec.readPlayer(message, player);
+        }
+        return type;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Abonne un spectateur ; son premier message sera le prochain instantané
+     * @return Subscription
+     * @since 0.0.1
+     */
+    public Subscription subscribe() {
+        Subscription subscription = new Subscription(this, this.capacity);
+        this.subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Retourne le nombre d'abonnés
+     * @return int
+     * @since 0.0.1
+     */
+    public int getSubscriberCount() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * Indique si au moins un abonné attend un instantané complet
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean isSnapshotNeeded() {
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.isNeedsSnapshot()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Diffuse un instantané complet de la partie
+     * @param board Plateau
+     * @param players Joueurs
+     * @return Nombre de spectateurs servis
+     * @since 0.0.1
+     */
+    public int publishSnapshot(@NonNull TileBoard board, @NonNull Player... players) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + BinaryCodec.maxBoardSize(board.getWidth(), board.getHeight()) + playersSize(players));
+        buffer.put(SNAPSHOT);
+        BinaryCodec.writeBoard(buffer, board);
+        return this.publish(writePlayers(buffer, players), true);
+    }
+
+    /**
+     * Diffuse les changements du plateau depuis sa version précédente
+     * @param from Version précédente du plateau
+     * @param to Version courante du plateau
+     * @param players Joueurs
+     * @return Nombre de spectateurs servis
+     * @since 0.0.1
+     */
+    public int publishDelta(@NonNull TileBoard from, @NonNull TileBoard to, @NonNull Player... players) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + BoardDelta.maxSize(to.getWidth(), to.getHeight()) + playersSize(players));
+        buffer.put(DELTA);
+        BoardDelta.diff(from, to, buffer);
+        return this.publish(writePlayers(buffer, players), false);
+    }
+
+    /**
+     * Diffuse un message déjà encodé
+     * @param message Message (de la position à la limite)
+     * @param snapshot Vrai pour un instantané complet
+     * @return Nombre de spectateurs servis
+     * @since 0.0.1
+     */
+    public int publish(@NonNull ByteBuffer message, boolean snapshot) {
+        ByteBuffer shared = message.asReadOnlyBuffer();
+        int served = 0;
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.offer(shared.duplicate(), snapshot)) {
+                served++;
+            }
+        }
+        return served;
+    }
+
+    // ------------------------------------ Méthodes de l'abonnement ---------------------------------------
+    /**
+     * Retire un abonnement
+     * @param subscription Abonnement
+     */
+    void unsubscribe(Subscription subscription) {
+        this.subscriptions.remove(subscription);
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Retourne la taille maximale de l'encodage des joueurs
+     * @param players Joueurs
+     * @return int
+     */
+    private static int playersSize(Player[] players) {
+        return VarInts.sizeOfUnsigned(players.length) + players.length * VarInts.sizeOfSigned(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Écrit les joueurs à la suite d'un message et le prépare à la lecture
+     * @param buffer Message
+     * @param players Joueurs
+     * @return Le message
+     */
+    private static ByteBuffer writePlayers(ByteBuffer buffer, Player[] players) {
+        VarInts.putUnsigned(buffer, players.length);
+        for (Player player : players) {
+            BinaryCodec.writePlayer(buffer, player);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,111 @@
+package com.cyg.rl.module.core.spectator;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * =================================================================================================================
+ * Abonnement d'un spectateur à une partie : anneau borné de messages, alimenté par le thread de la partie et vidé
+ * par le thread du spectateur (un producteur, un consommateur, sans verrou).
+ * Si l'anneau est plein, le message est abandonné au lieu de bloquer la partie et l'abonnement passe en attente
+ * de resynchronisation : les deltas suivants, inapplicables, sont ignorés jusqu'au prochain instantané complet.
+ * Les messages reçus sont des vues en lecture seule d'un tampon partagé entre tous les spectateurs.
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class Subscription implements Closeable {
+
+    // Membres internes
+    private final SpectatorFanout                   fanout;
+    private final AtomicReferenceArray<ByteBuffer>  ring;
+    private final int                               mask;
+    private final AtomicLong                        head = new AtomicLong();
+    private final AtomicLong                        tail = new AtomicLong();
+    private volatile boolean                        needsSnapshot = true;
+    @Getter
+    private volatile long                           dropped;
+
+    /**
+     * Constructeur
+     * @param fanout Diffusion de rattachement
+     * @param capacity Capacité de l'anneau (puissance de 2)
+     */
+    Subscription(SpectatorFanout fanout, int capacity) {
+        this.fanout = fanout;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    // --------------------------------------- Méthodes publiques ---------------------------------------------
+    /**
+     * Retire le prochain message
+     * @return Message en lecture seule, ou null si aucun message n'est en attente
+     * @since 0.0.1
+     */
+    public ByteBuffer poll() {
+        long position = this.head.get();
+        if (position == this.tail.get()) {
+            return null;
+        }
+        int index = (int) position & this.mask;
+        ByteBuffer message = this.ring.get(index);
+        this.ring.lazySet(index, null);
+        this.head.lazySet(position + 1);
+        return message;
+    }
+
+    /**
+     * Retourne le nombre de messages en attente
+     * @return int
+     * @since 0.0.1
+     */
+    public int size() {
+        return (int) (this.tail.get() - this.head.get());
+    }
+
+    /**
+     * Indique si l'abonnement attend un instantané complet (à l'abonnement ou après un abandon de message)
+     * @return boolean
+     * @since 0.0.1
+     */
+    public boolean isNeedsSnapshot() {
+        return this.needsSnapshot;
+    }
+
+    /**
+     * Met fin à l'abonnement
+     */
+    @Override
+    public void close() {
+        this.fanout.unsubscribe(this);
+    }
+
+    // ------------------------------------ Méthodes de la diffusion ---------------------------------------
+    /**
+     * Dépose un message, sans jamais bloquer (appelé par le seul thread de la partie)
+     * @param message Vue du message
+     * @param snapshot Vrai pour un instantané complet
+     * @return Vrai si le message a été déposé
+     */
+    boolean offer(ByteBuffer message, boolean snapshot) {
+        if (this.needsSnapshot && !snapshot) {
+            return false;
+        }
+        long position = this.tail.get();
+        if (position - this.head.get() > this.mask) {
+            this.needsSnapshot = true;
+            this.dropped++;
+            return false;
+        }
+        this.ring.lazySet((int) position & this.mask, message);
+        this.tail.lazySet(position + 1);
+        this.needsSnapshot = false;
+        return true;
+    }
+}
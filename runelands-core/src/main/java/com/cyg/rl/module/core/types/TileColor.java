@@ -12,5 +12,28 @@ public enum TileColor {
     BLUE,
     RED,
     YELLOW,
-    WHITE
+    WHITE;
+
+    // Membres statiques internes
+    private static final TileColor[]                VALUES = values();
+
+    // ---------------------------------- Méthodes statiques publiques ---------------------------------------
+    /**
+     * Retourne la couleur correspondant à un ordinal, sans allouer de tableau comme le fait values()
+     * @param ordinal Ordinal de la couleur (une valeur négative correspond à une case vide)
+     * @return TileColor ou null pour une case vide
+     * @since 0.0.1
+     */
+    public static TileColor of(int ordinal) {
+        return ordinal >= 0 ? VALUES[ordinal] : null;
+    }
+
+    /**
+     * Retourne le nombre de couleurs
+     * @return int
+     * @since 0.0.1
+     */
+    public static int count() {
+        return VALUES.length;
+    }
 }
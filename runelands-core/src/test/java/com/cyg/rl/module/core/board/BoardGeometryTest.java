@@ -0,0 +1,83 @@
+package com.cyg.rl.module.core.board;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe BoardGeometry
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class BoardGeometryTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste les tables de voisins et de portée contre un calcul direct
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBuilt_shouldMatchDirectComputation() {
+        BoardGeometry geometry = BoardGeometry.of(5, 3);
+        assertThat(BoardGeometry.of(5, 3)).isSameAs(geometry);
+        assertThat(BoardGeometry.of(3, 5)).isNotSameAs(geometry);
+        int[] dx = { -1, 0, 1, 0 };
+        int[] dy = { 0, -1, 0, 1 };
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 5; x++) {
+                int index = geometry.index(x, y);
+                assertThat(geometry.x(index)).isEqualTo(x);
+                assertThat(geometry.y(index)).isEqualTo(y);
+                for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+                    int nx = x + dx[direction];
+                    int ny = y + dy[direction];
+                    boolean inside = nx >= 0 && nx < 5 && ny >= 0 && ny < 3;
+                    assertThat(geometry.neighbor(index, direction)).isEqualTo(inside ? geometry.index(nx, ny) : -1);
+                    int reach = 0;
+                    while (x + dx[direction] * (reach + 1) >= 0 && x + dx[direction] * (reach + 1) < 5
+                            && y + dy[direction] * (reach + 1) >= 0 && y + dy[direction] * (reach + 1) < 3) {
+                        reach++;
+                    }
+                    assertThat(geometry.reach(index, direction)).isEqualTo(reach);
+                }
+            }
+        }
+    }
+
+    /**
+     * Teste la mesure des séries de même couleur, bornée par le bord et par la case d'arrêt
+     * @since 0.0.1
+     */
+    @Test
+    public void whenRunMeasured_shouldStopAtEdgeColorOrStop() {
+        BoardGeometry geometry = BoardGeometry.of(5, 3);
+        PackedTileStorage storage = new PackedTileStorage(5, 3);
+        storage.fill((byte) 1);
+        storage.set(3, 1, (byte) 2);
+        int center = geometry.index(2, 1);
+        assertThat(geometry.run(storage, center, BoardGeometry.LEFT, (byte) 1, -1)).isEqualTo(2);
+        assertThat(geometry.run(storage, center, BoardGeometry.RIGHT, (byte) 1, -1)).isEqualTo(0);
+        assertThat(geometry.run(storage, center, BoardGeometry.UP, (byte) 1, -1)).isEqualTo(1);
+        assertThat(geometry.run(storage, center, BoardGeometry.DOWN, (byte) 1, -1)).isEqualTo(1);
+        assertThat(geometry.run(storage, center, BoardGeometry.LEFT, (byte) 1, geometry.index(0, 1))).isEqualTo(1);
+        storage.set(1, 1, TileStorage.EMPTY);
+        assertThat(geometry.run(storage, center, BoardGeometry.LEFT, (byte) 1, -1)).isEqualTo(0);
+    }
+
+    /**
+     * Teste si le cache partagé est borné : au-delà de MAX_CACHED tailles, les géométries ne sont plus partagées
+     * @since 0.0.1
+     */
+    @Test
+    public void whenManySizes_shouldBoundCache() {
+        BoardGeometry shared = BoardGeometry.of(5, 3);
+        for (int i = 0; i <= BoardGeometry.MAX_CACHED; i++) {
+            BoardGeometry.of(1, 1000 + i);
+        }
+        assertThat(BoardGeometry.of(1, 5000)).isNotSameAs(BoardGeometry.of(1, 5000));
+        assertThat(BoardGeometry.of(5, 3)).isSameAs(shared);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.generator.RandomTileSource;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe ColumnTileStorage
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ColumnTileStorageTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si le stockage par colonnes se comporte exactement comme le stockage par lignes
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSameOperations_shouldMatchPackedStorage() {
+        Random random = new Random(4);
+        PackedTileStorage packed = new PackedTileStorage(5, 7);
+        ColumnTileStorage columns = new ColumnTileStorage(5, 7);
+        packed.generate(new RandomTileSource(9L, 0L));
+        columns.generate(new RandomTileSource(9L, 0L));
+        assertSame(packed, columns);
+        RandomTileSource packedSource = new RandomTileSource(1L, 0L);
+        RandomTileSource columnSource = new RandomTileSource(1L, 0L);
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(5);
+            switch (random.nextInt(3)) {
+                case 0: {
+                    int y = random.nextInt(7);
+                    byte color = (byte) (random.nextInt(TileColor.count() + 1) - 1);
+                    packed.set(x, y, color);
+                    columns.set(x, y, color);
+                    break;
+                }
+                case 1:
+                    assertThat(columns.collapseColumn(x)).isEqualTo(packed.collapseColumn(x));
+                    break;
+                default: {
+                    int count = random.nextInt(8);
+                    packed.refillColumn(x, count, packedSource);
+                    columns.refillColumn(x, count, columnSource);
+                    break;
+                }
+            }
+            assertSame(packed, columns);
+        }
+        ColumnTileStorage copy = new ColumnTileStorage(5, 7);
+        copy.copyFrom(packed);
+        assertThat(copy).isEqualTo(columns);
+        assertThat(columns.copy()).isEqualTo(columns);
+    }
+
+    /**
+     * Teste si une partie jouée sur un plateau par colonnes donne le même plateau que par lignes
+     * @since 0.0.1
+     */
+    @Test
+    public void whenCascadesResolved_shouldMatchPackedBoard() {
+        TileGenerator generator = TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4);
+        TileBoard packed = TileBoard.of(generator, new PackedTileStorage(8, 8));
+        TileBoard columns = TileBoard.of(generator, new ColumnTileStorage(8, 8));
+        packed.setSeed(12L);
+        columns.setSeed(12L);
+        CascadeResolver resolver = CascadeResolver.of(packed);
+        resolver.resolve(packed.generate());
+        resolver.resolve(columns.generate());
+        Random random = new Random(6);
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(7);
+            int y = random.nextInt(8);
+            resolver.swap(packed, x, y, x + 1, y);
+            resolver.swap(columns, x, y, x + 1, y);
+            assertThat(columns.sameTiles(packed)).isTrue();
+            assertThat(columns.getCounts()).isEqualTo(packed.getCounts());
+        }
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Vérifie que deux stockages ont les mêmes couleurs
+     * @param expected Stockage attendu
+     * @param actual Stockage vérifié
+     */
+    private static void assertSame(TileStorage expected, TileStorage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertThat(actual.get(x, y)).as("(%d, %d)", x, y).isEqualTo(expected.get(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.helper.TestBoards;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe PersistentTileBoard
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class PersistentTileBoardTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si une modification laisse la version d'origine intacte et partage les lignes non modifiées
+     * @since 0.0.1
+     */
+    @Test
+    public void whenUpdated_shouldShareUntouchedRows() {
+        PersistentTileBoard base = PersistentTileBoard.ofAll(board(1L));
+        PersistentTileBoard branch = base.update(2, 3, TileColor.WHITE).update(4, 3, TileColor.RED);
+        assertThat(branch.getColor(2, 3)).isEqualTo(TileColor.WHITE);
+        assertThat(base.sharedRows(branch)).isEqualTo(base.getHeight() - 1);
+        assertThat(base.getColor(2, 3)).isEqualTo(board(1L).getColor(2, 3));
+        assertThat(base.update(0, 0, base.get(0, 0))).isSameAs(base);
+    }
+
+    /**
+     * Teste si le hash maintenu par les versions est bien celui du plateau mutable équivalent
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBranched_shouldKeepZobristHash() {
+        TileBoard board = board(2L);
+        PersistentTileBoard version = PersistentTileBoard.ofAll(board).swap(0, 0, 1, 0).update(3, 3, TileStorage.EMPTY);
+        TileBoard expected = version.toTileBoard(null);
+        assertThat(version.getHash()).isEqualTo(expected.rehash());
+        assertThat(PersistentTileBoard.ofAll(expected)).isEqualTo(version);
+    }
+
+    /**
+     * Teste si une version construite après résolution d'un coup partage les lignes non touchées par la cascade
+     * @since 0.0.1
+     */
+    @Test
+    public void whenCommittedFromResolvedBoard_shouldShareUnchangedRows() {
+        TileBoard board = TestBoards.board("WYB", "RBR", "WRY", "WYW", "BBY");
+        PersistentTileBoard before = PersistentTileBoard.ofAll(board);
+        new CascadeResolver(3, 5).swap(board, 1, 1, 1, 2);
+        PersistentTileBoard after = before.with(board);
+        assertThat(after.getHash()).isEqualTo(board.getHash());
+        assertThat(after.sharedRows(before)).isEqualTo(1);
+        assertThat(after.toTileBoard(null).sameTiles(board)).isTrue();
+        assertThat(after.with(board)).isSameAs(after);
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Génère un plateau 6x6
+     * @param seed Graine
+     * @return TileBoard
+     */
+    private static TileBoard board(long seed) {
+        return TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_RANDOM, 0L, 0))
+                .seed(seed).width(6).height(6).build().generate();
+    }
+}
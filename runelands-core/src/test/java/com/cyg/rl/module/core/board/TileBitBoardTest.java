@@ -0,0 +1,109 @@
+package com.cyg.rl.module.core.board;
+
+import com.cyg.rl.module.core.models.TileBoard;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe TileBitBoard
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBitBoardTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si les alignements trouvés sont bien ceux d'un parcours naïf, sur des plateaux aléatoires
+     * de tailles diverses (dont des plateaux de plus de 64 cases)
+     * @since 0.0.1
+     */
+    @Test
+    public void whenRandomBoards_shouldFindSameRunsAsNaiveScan() {
+        Random random = new Random(42);
+        int[][] sizes = { { 3, 3 }, { 8, 8 }, { 7, 11 }, { 13, 9 }, { 20, 20 } };
+        for (int[] size : sizes) {
+            for (int iteration = 0; iteration < 50; iteration++) {
+                TileBoard board = TileBoard.of(null, new PackedTileStorage(size[0], size[1]));
+                for (int y = 0; y < size[1]; y++) {
+                    for (int x = 0; x < size[0]; x++) {
+                        board.set(x, y, (byte) (random.nextInt(5) - 1));
+                    }
+                }
+                TileBitBoard bitBoard = TileBitBoard.of(board);
+                for (int minLength = 2; minLength <= 4; minLength++) {
+                    List<String> runs = new ArrayList<>();
+                    bitBoard.forEachRun(minLength, (c, x, y, l, h) -> runs.add(c + ":" + x + "," + y + ":" + l + ":" + h));
+                    assertThat(runs).containsExactlyInAnyOrderElementsOf(naiveRuns(board, minLength));
+                    long[] mask = new long[bitBoard.getWordCount()];
+                    assertThat(bitBoard.findMatches(minLength, mask)).isEqualTo(!runs.isEmpty());
+                    assertThat(bitBoard.hasMatch(minLength)).isEqualTo(!runs.isEmpty());
+                }
+            }
+        }
+    }
+
+    /**
+     * Teste si la modification d'une case met bien à jour les masques
+     * @since 0.0.1
+     */
+    @Test
+    public void whenCellSet_shouldUpdateMatches() {
+        TileBitBoard bitBoard = new TileBitBoard(4, 4);
+        bitBoard.set(0, 1, (byte) 2);
+        bitBoard.set(1, 1, (byte) 2);
+        assertThat(bitBoard.hasMatch(3)).isFalse();
+        bitBoard.set(2, 1, (byte) 2);
+        long[] mask = new long[bitBoard.getWordCount()];
+        assertThat(bitBoard.findMatches(3, mask)).isTrue();
+        assertThat(mask[0]).isEqualTo(0b0111_0000L);
+        bitBoard.set(1, 1, (byte) 0);
+        assertThat(bitBoard.get(1, 1)).isEqualTo((byte) 0);
+        assertThat(bitBoard.hasMatch(3)).isFalse();
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Recherche les alignements maximaux par un parcours naïf des cases
+     * @param board Plateau
+     * @param minLength Longueur minimale
+     * @return Alignements
+     */
+    private static List<String> naiveRuns(TileBoard board, int minLength) {
+        List<String> result = new ArrayList<>();
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                byte color = board.get(x, y);
+                if (color == TileStorage.EMPTY) {
+                    continue;
+                }
+                if (x == 0 || board.get(x - 1, y) != color) {
+                    int length = 1;
+                    while (x + length < board.getWidth() && board.get(x + length, y) == color) {
+                        length++;
+                    }
+                    if (length >= minLength) {
+                        result.add(color + ":" + x + "," + y + ":" + length + ":true");
+                    }
+                }
+                if (y == 0 || board.get(x, y - 1) != color) {
+                    int length = 1;
+                    while (y + length < board.getHeight() && board.get(x, y + length) == color) {
+                        length++;
+                    }
+                    if (length >= minLength) {
+                        result.add(color + ":" + x + "," + y + ":" + length + ":false");
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,146 @@
+package com.cyg.rl.module.core.codec;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.effects.EffectPipeline;
+import com.cyg.rl.module.core.models.Effect;
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import com.cyg.tools.jackson.JacksonConfigurer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.cyg.rl.module.core.helper.TestBoards.board;
+import static com.cyg.rl.module.core.helper.TestBoards.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe BinaryCodec
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class BinaryCodecTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un plateau complet est relu à l'identique, en bien moins d'octets qu'en JSON
+     * @throws Exception En cas d'erreur JSON
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardEncoded_shouldDecodeSameBoardCompactly() throws Exception {
+        TileBoard board = TileBoard.of(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 3L, 4), new PackedTileStorage(8, 8));
+        board.setSeed(42L);
+        board.generate();
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.maxBoardSize(8, 8));
+        BinaryCodec.writeBoard(buffer, board);
+        buffer.flip();
+        int size = buffer.remaining();
+        TileBoard decoded = BinaryCodec.readBoard(buffer);
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(decoded).isEqualTo(board);
+        assertThat(decoded.getHash()).isEqualTo(board.getHash());
+        assertThat(size).isLessThan(40);
+        assertThat(size * 10).isLessThan(JacksonConfigurer.getInstance().createMapper().writeValueAsBytes(board).length);
+    }
+
+    /**
+     * Teste si les cases vides sont conservées et si le décodage réutilise le plateau de destination
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardHasEmptyCells_shouldDecodeIntoExistingBoard() {
+        TileBoard board = board(
+                "B.R",
+                "WYB",
+                "..Y");
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.maxBoardSize(3, 3));
+        BinaryCodec.writeBoard(buffer, board);
+        buffer.flip();
+        TileBoard target = board(
+                "RRR",
+                "RRR",
+                "RRR");
+        assertThat(BinaryCodec.readBoard(buffer, target)).isSameAs(target);
+        assertThat(rows(target)).containsExactly("B.R", "WYB", "..Y");
+        assertThat(target.getHash()).isEqualTo(board.getHash());
+    }
+
+    /**
+     * Teste si des dimensions démesurées ou non couvertes par le message sont rejetées avant toute allocation
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDimensionsExceedMessage_shouldRejectBoard() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        VarInts.putUnsigned(buffer, 1 << 20);
+        VarInts.putUnsigned(buffer, 1 << 20);
+        buffer.put((byte) 0).putLong(0L).flip();
+        assertThatThrownBy(() -> BinaryCodec.readBoard(buffer)).isInstanceOf(IllegalArgumentException.class);
+        ByteBuffer small = ByteBuffer.allocate(32);
+        VarInts.putUnsigned(small, 64);
+        VarInts.putUnsigned(small, 64);
+        small.put((byte) 0).putLong(0L).flip();
+        assertThatThrownBy(() -> BinaryCodec.readBoard(small)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Teste si un message invalide (type de générateur inconnu ou cases tronquées) laisse le plateau intact
+     * @since 0.0.1
+     */
+    @Test
+    public void whenMessageInvalid_shouldLeaveBoardUnchanged() {
+        TileBoard target = board(
+                "RRR",
+                "RRR",
+                "RRR");
+        TileBoard expected = target.copy();
+        ByteBuffer badType = ByteBuffer.allocate(32);
+        VarInts.putUnsigned(badType, 3);
+        VarInts.putUnsigned(badType, 3);
+        badType.put((byte) 0x01).putLong(7L).put((byte) 0xF0).putLong(1L).put((byte) 1).putInt(0).flip();
+        assertThatThrownBy(() -> BinaryCodec.readBoard(badType, target)).isInstanceOf(IllegalArgumentException.class);
+        ByteBuffer truncated = ByteBuffer.allocate(32);
+        VarInts.putUnsigned(truncated, 3);
+        VarInts.putUnsigned(truncated, 3);
+        truncated.put((byte) 0x02).putLong(7L).put((byte) 0).flip();
+        assertThatThrownBy(() -> BinaryCodec.readBoard(truncated, target)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(target).isEqualTo(expected);
+        assertThat(target.getSeed()).isEqualTo(expected.getSeed());
+    }
+
+    /**
+     * Teste si les joueurs et les effets sont relus à l'identique
+     * @since 0.0.1
+     */
+    @Test
+    public void whenPlayerAndEffectsEncoded_shouldDecodeSameValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        EffectAttack attack = EffectAttack.of(1234);
+        attack.setType(EffectType.ATTACK);
+        attack.setTarget(EffectTarget.OPPONENT);
+        BinaryCodec.writePlayer(buffer, Player.of(-3));
+        BinaryCodec.writePlayer(buffer, Player.of(Integer.MAX_VALUE));
+        BinaryCodec.writeEffect(buffer, attack);
+        BinaryCodec.writeEffect(buffer, new Effect());
+        BinaryCodec.writeAttack(buffer, EffectTarget.PLAYER, -7);
+        buffer.flip();
+        assertThat(buffer.remaining()).isEqualTo(1 + 5 + 3 + 1 + 2);
+        assertThat(BinaryCodec.readPlayer(buffer)).isEqualTo(Player.of(-3));
+        assertThat(BinaryCodec.readPlayer(buffer, new Player()).getLife()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(BinaryCodec.readEffect(buffer)).isEqualTo(attack);
+        assertThat(BinaryCodec.readEffect(buffer)).isEqualTo(new Effect());
+        EffectPipeline pipeline = BinaryCodec.readEffect(buffer, new EffectPipeline());
+        assertThat(pipeline.getTotal(EffectType.ATTACK, EffectTarget.PLAYER)).isEqualTo(-7);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+}
@@ -0,0 +1,144 @@
+package com.cyg.rl.module.core.codec;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.cyg.rl.module.core.helper.TestBoards.board;
+import static com.cyg.rl.module.core.helper.TestBoards.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe BoardDelta
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class BoardDeltaTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un client suivant une partie par deltas garde le même plateau que le serveur
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDeltasApplied_shouldFollowServerBoard() {
+        TileBoard server = TileBoard.of(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4), new PackedTileStorage(8, 8));
+        server.setSeed(21L);
+        CascadeResolver resolver = CascadeResolver.of(server);
+        resolver.resolve(server.generate());
+        TileBoard client = server.copy();
+        TileBoard previous = server.copy();
+        ByteBuffer buffer = ByteBuffer.allocate(BoardDelta.maxSize(8, 8));
+        int[] moves = new int[128];
+        int deltaBytes = 0;
+        int snapshotBytes = 0;
+        for (int turn = 0; turn < 50; turn++) {
+            int count = Moves.find(server, moves);
+            if (count == 0) {
+                resolver.resolve(server.generate());
+            } else {
+                Moves.play(resolver, server, moves[turn % count]);
+            }
+            buffer.clear();
+            int sent = BoardDelta.diff(previous, server, buffer);
+            buffer.flip();
+            assertThat(buffer.remaining()).isLessThanOrEqualTo(BoardDelta.maxSize(8, 8));
+            deltaBytes += buffer.remaining();
+            ByteBuffer snapshot = ByteBuffer.allocate(BinaryCodec.maxBoardSize(8, 8));
+            BinaryCodec.writeBoard(snapshot, server);
+            snapshotBytes += snapshot.position();
+            assertThat(sent).isBetween(0, 64);
+            BoardDelta.apply(buffer, client);
+            assertThat(client.sameTiles(server)).isTrue();
+            previous.copyFrom(server);
+        }
+        assertThat(deltaBytes).isLessThan(snapshotBytes);
+    }
+
+    /**
+     * Teste si un delta est refusé, sans modifier le plateau, quand il ne correspond pas à sa version
+     * @since 0.0.1
+     */
+    @Test
+    public void whenVersionOrChecksumMismatch_shouldRejectDelta() {
+        TileBoard from = board(
+                "BRY",
+                "WBR");
+        TileBoard to = board(
+                "B.Y",
+                "WBW");
+        ByteBuffer buffer = ByteBuffer.allocate(BoardDelta.maxSize(3, 2));
+        assertThat(BoardDelta.diff(from, to, buffer)).isEqualTo(2);
+        buffer.flip();
+        TileBoard other = board(
+                "BRY",
+                "WBB");
+        assertThatThrownBy(() -> BoardDelta.apply(buffer.duplicate(), other)).isInstanceOf(IllegalArgumentException.class);
+        ByteBuffer corrupted = ByteBuffer.allocate(buffer.remaining()).put(buffer.duplicate());
+        corrupted.put(corrupted.limit() - 1, (byte) 0x11).flip();
+        TileBoard target = from.copy();
+        assertThatThrownBy(() -> BoardDelta.apply(corrupted, target)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(target.sameTiles(from)).isTrue();
+        assertThat(rows(BoardDelta.apply(buffer, from))).containsExactly("B.Y", "WBW");
+    }
+
+    /**
+     * Teste si un delta de modifications éparses tient dans la taille maximale annoncée
+     * @since 0.0.1
+     */
+    @Test
+    public void whenChangesScattered_shouldFitMaxSize() {
+        for (int step = 2; step <= 6; step++) {
+            TileBoard from = TileBoard.of(null, new PackedTileStorage(100, 100));
+            TileBoard to = from.copy();
+            for (int index = 0; index < 100 * 100; index += step) {
+                to.set(index % 100, index / 100, (byte) (index % 4));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(BoardDelta.maxSize(100, 100));
+            assertThat(BoardDelta.diff(from, to, buffer)).isGreaterThanOrEqualTo(100 * 100 / step);
+            buffer.flip();
+            assertThat(BoardDelta.apply(buffer, from).sameTiles(to)).isTrue();
+        }
+    }
+
+    /**
+     * Teste si un delta forgé (plage débordante, couleur hors des ordinaux) est refusé sans modifier le plateau
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDeltaForged_shouldRejectBeforeWriting() {
+        TileBoard board = board(
+                "BRY",
+                "WBR");
+        TileBoard expected = board.copy();
+        ByteBuffer color = header(board).put((byte) 1).put((byte) 0).put((byte) 1).put((byte) 0x0F);
+        assertThatThrownBy(() -> BoardDelta.apply((ByteBuffer) color.flip(), board)).isInstanceOf(IllegalArgumentException.class);
+        ByteBuffer length = header(board).put((byte) 1).put((byte) 1);
+        VarInts.putUnsigned(length, Integer.MAX_VALUE);
+        assertThatThrownBy(() -> BoardDelta.apply((ByteBuffer) length.flip(), board)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(board.sameTiles(expected)).isTrue();
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Écrit l'en-tête d'un delta dont le hash d'arrivée est celui du plateau
+     * @param board Plateau
+     * @return Tampon positionné sur le nombre de plages
+     */
+    private static ByteBuffer header(TileBoard board) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        VarInts.putUnsigned(buffer, board.getWidth());
+        VarInts.putUnsigned(buffer, board.getHeight());
+        return buffer.putLong(board.getHash()).putLong(board.getHash());
+    }
+}
@@ -0,0 +1,45 @@
+package com.cyg.rl.module.core.effects;
+
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe EffectPipeline
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class EffectPipelineTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si les effets d'un tour sont bien regroupés par cible puis appliqués aux joueurs
+     * @since 0.0.1
+     */
+    @Test
+    public void whenTurnApplied_shouldUpdateLifeByTarget() {
+        EffectPipeline pipeline = new EffectPipeline();
+        for (int i = 0; i < 100; i++) {
+            pipeline.add(EffectType.ATTACK, EffectTarget.OPPONENT, 2);
+        }
+        pipeline.add(EffectAttack.builder().type(EffectType.ATTACK).target(EffectTarget.PLAYER).value(5).build());
+        assertThat(pipeline.size()).isEqualTo(101);
+        assertThat(pipeline.getTotal(EffectType.ATTACK, EffectTarget.OPPONENT)).isEqualTo(200);
+        assertThat(pipeline.getCount(EffectType.ATTACK, EffectTarget.OPPONENT)).isEqualTo(100);
+
+        Player player = Player.of(50);
+        Player opponent = Player.of(300);
+        pipeline.apply(player, opponent);
+        assertThat(player.getLife()).isEqualTo(45);
+        assertThat(opponent.getLife()).isEqualTo(100);
+        assertThat(pipeline.size()).isZero();
+        assertThat(pipeline.getTotal(EffectType.ATTACK, EffectTarget.OPPONENT)).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.cyg.rl.module.core.effects;
+
+import com.cyg.rl.module.core.models.Effect;
+import com.cyg.rl.module.core.models.EffectAttack;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe ImmutableEffect
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ImmutableEffectTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si les effets de la plage canonique sont partagés et les autres seulement égaux
+     * @since 0.0.1
+     */
+    @Test
+    public void whenValueInRange_shouldReturnSameInstance() {
+        ImmutableEffect effect = ImmutableEffect.of(EffectType.ATTACK, EffectTarget.OPPONENT, 12);
+        assertThat(ImmutableEffect.of(EffectType.ATTACK, EffectTarget.OPPONENT, 12)).isSameAs(effect);
+        assertThat(ImmutableEffect.of(EffectType.ATTACK, EffectTarget.PLAYER, 12)).isNotEqualTo(effect);
+        assertThat(ImmutableEffect.of(EffectType.ATTACK, EffectTarget.PLAYER, ImmutableEffect.MIN_CACHED).getValue())
+                .isEqualTo(ImmutableEffect.MIN_CACHED);
+        ImmutableEffect large = ImmutableEffect.of(EffectType.ATTACK, EffectTarget.OPPONENT, ImmutableEffect.MAX_CACHED + 1);
+        assertThat(ImmutableEffect.of(EffectType.ATTACK, EffectTarget.OPPONENT, ImmutableEffect.MAX_CACHED + 1))
+                .isNotSameAs(large)
+                .isEqualTo(large);
+    }
+
+    /**
+     * Teste la conversion depuis et vers les modèles, et l'ajout au pipeline
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConvertedFromModel_shouldBeCanonical() {
+        EffectAttack attack = EffectAttack.of(5);
+        attack.setType(EffectType.ATTACK);
+        attack.setTarget(EffectTarget.OPPONENT);
+        ImmutableEffect effect = ImmutableEffect.of(attack);
+        assertThat(effect).isSameAs(ImmutableEffect.of(EffectType.ATTACK, EffectTarget.OPPONENT, 5));
+        Effect model = effect.toEffect();
+        assertThat(model).isEqualTo(attack);
+        EffectPipeline pipeline = new EffectPipeline().add(effect).add(effect);
+        assertThat(pipeline.getTotal(EffectType.ATTACK, EffectTarget.OPPONENT)).isEqualTo(10);
+    }
+}
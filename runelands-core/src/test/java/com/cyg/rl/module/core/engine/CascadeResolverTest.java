@@ -0,0 +1,85 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.types.TileColor;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.cyg.rl.module.core.helper.TestBoards.board;
+import static com.cyg.rl.module.core.helper.TestBoards.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe CascadeResolver
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class CascadeResolverTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un échange sans alignement est bien annulé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSwapWithoutMatch_shouldRevert() {
+        TileBoard board = board("WYB", "RBR", "WRY", "WYW");
+        CascadeResolver resolver = CascadeResolver.of(board);
+        assertThat(resolver.swap(board, 0, 0, 1, 0)).isFalse();
+        assertThat(rows(board)).containsExactly("WYB", "RBR", "WRY", "WYW");
+        assertThat(resolver.getDepth()).isZero();
+    }
+
+    /**
+     * Teste si un échange produisant un alignement déclenche bien la cascade complète
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSwapWithMatch_shouldCascade() {
+        TileBoard board = board("WYB", "RBR", "WRY", "WYW");
+        CascadeResolver resolver = CascadeResolver.of(board);
+        assertThat(resolver.swap(board, 1, 1, 1, 2)).isTrue();
+        assertThat(rows(board)).containsExactly("...", ".YB", ".BY", ".YW");
+        assertThat(resolver.getDepth()).isEqualTo(2);
+        assertThat(resolver.getMatchedTotal()).isEqualTo(6);
+        assertThat(resolver.getMatchedCount(TileColor.RED)).isEqualTo(3);
+        assertThat(resolver.getMatchedCount(TileColor.WHITE)).isEqualTo(3);
+    }
+
+    /**
+     * Teste si les cases libérées sont bien remplies depuis la source du plateau
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardHasSource_shouldRefillColumns() {
+        TileBoard board = board("YWY", "RBR", "WRW");
+        int[] next = { 0 };
+        board.setSource((target, offset, count) -> {
+            for (int i = offset; i < offset + count; i++) {
+                target[i] = (byte) (next[0]++ % TileColor.count());
+            }
+        });
+        CascadeResolver resolver = CascadeResolver.of(board);
+        assertThat(resolver.swap(board, 1, 1, 1, 2)).isTrue();
+        assertThat(rows(board)).containsExactly("BRY", "YWY", "WBW");
+        assertThat(resolver.getDepth()).isEqualTo(1);
+    }
+
+    /**
+     * Teste si une source dégénérée ne provoque pas de cascade infinie
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSourceAlwaysMatches_shouldStopAtMaxDepth() {
+        TileBoard board = board("RRR", "BYB");
+        board.setSource((target, offset, count) -> Arrays.fill(target, offset, offset + count, (byte) TileColor.RED.ordinal()));
+        CascadeResolver resolver = new CascadeResolver(3, 2, 5);
+        assertThat(resolver.resolve(board)).isTrue();
+        assertThat(resolver.getDepth()).isEqualTo(5);
+        assertThat(resolver.getMatchedTotal()).isEqualTo(15);
+    }
+}
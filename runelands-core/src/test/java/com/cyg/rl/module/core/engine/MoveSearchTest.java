@@ -0,0 +1,75 @@
+package com.cyg.rl.module.core.engine;
+
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cyg.rl.module.core.helper.TestBoards.board;
+import static com.cyg.rl.module.core.helper.TestBoards.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe MoveSearch
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MoveSearchTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si le coup retenu est bien celui qui supprime le plus de tuiles
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSinglePly_shouldPickLargestMatch() {
+        TileBoard board = board("RRWRR", "BYRYB", "WBYBW");
+        SearchResult result = MoveSearch.of().search(board, 1, 0L, 0L);
+        assertThat(result.getMove()).isEqualTo(Move.of(2, 0, 2, 1));
+        assertThat(result.getScore()).isEqualTo(5);
+        assertThat(result.isComplete()).isTrue();
+        assertThat(rows(board)).containsExactly("RRWRR", "BYRYB", "WBYBW");
+    }
+
+    /**
+     * Teste si un plateau sans coup légal ne retourne aucun coup
+     * @since 0.0.1
+     */
+    @Test
+    public void whenNoLegalMove_shouldReturnNoMove() {
+        TileBoard board = board("RB", "YW");
+        assertThat(MoveSearch.of().search(board, 2, 0L, 0L).getMove()).isNull();
+    }
+
+    /**
+     * Teste si la recherche parallèle donne le même score que la recherche sur un seul thread
+     * @since 0.0.1
+     */
+    @Test
+    public void whenParallel_shouldMatchSequentialScore() {
+        TileBoard board = TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_RANDOM, 0L, 0))
+                .seed(77L).width(7).height(7).build().generate();
+        SearchResult sequential = new MoveSearch(new ForkJoinPool(1), 16).search(board, 3, 0L, 0L);
+        SearchResult parallel = new MoveSearch(new ForkJoinPool(4), 16).search(board, 3, 0L, 0L);
+        assertThat(parallel.getScore()).isEqualTo(sequential.getScore());
+        assertThat(parallel.isComplete()).isTrue();
+    }
+
+    /**
+     * Teste si la recherche s'arrête bien une fois le budget de positions épuisé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenNodeBudgetExhausted_shouldStopEarly() {
+        TileBoard board = TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_RANDOM, 0L, 0))
+                .seed(78L).width(8).height(8).build().generate();
+        SearchResult result = MoveSearch.of().search(board, 4, 0L, 50L);
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.getNodes()).isLessThan(200L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cyg.rl.module.core.generator;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * =================================================================================================================
+ * Mesure de contention d'un paquet partagé : débit en tuiles par seconde de 1 à N threads, pour le paquet sans
+ * verrou (ConcurrentTileDeck) et pour un paquet local protégé par un verrou.
+ * Usage : ConcurrentTileDeckBenchmark [threadsMax] [taille de lot] [durée en ms par mesure]
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ConcurrentTileDeckBenchmark {
+
+    // ------------------------------------------- Point d'entrée -------------------------------------------
+    /**
+     * Lance la mesure
+     * @param args Arguments
+     * @throws InterruptedException si la mesure est interrompue
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long duration = args.length > 2 ? Long.parseLong(args[2]) : 1000L;
+        System.out.printf("%8s %20s %20s%n", "threads", "lock-free (tuiles/s)", "verrou (tuiles/s)");
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            ConcurrentTileDeck lockFree = new ConcurrentTileDeck(8, 1L);
+            DeckTileSource deck = new DeckTileSource(8, 1L, 0L);
+            TileSource locked = (target, offset, count) -> {
+                synchronized (deck) {
+                    deck.fill(target, offset, count);
+                }
+            };
+            measure(lockFree, threads, batch, duration / 4);
+            measure(locked, threads, batch, duration / 4);
+            System.out.printf("%8d %20.0f %20.0f%n", threads,
+                    measure(lockFree, threads, batch, duration), measure(locked, threads, batch, duration));
+        }
+    }
+
+    // ------------------------------------ Méthodes statiques privées ---------------------------------------
+    /**
+     * Mesure le débit d'une source partagée par plusieurs threads
+     * @param source Source
+     * @param threads Nombre de threads
+     * @param batch Taille de lot
+     * @param duration Durée de la mesure en ms
+     * @return Débit en tuiles par seconde
+     * @throws InterruptedException si la mesure est interrompue
+     */
+    private static double measure(TileSource source, int threads, int batch, long duration) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder tiles = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                byte[] target = new byte[batch];
+                long count = 0;
+                while (running.get()) {
+                    source.fill(target, 0, batch);
+                    count += batch;
+                }
+                tiles.add(count);
+                done.countDown();
+            }).start();
+        }
+        long start = System.nanoTime();
+        Thread.sleep(duration);
+        running.set(false);
+        done.await();
+        return tiles.sum() * 1e9 / (System.nanoTime() - start);
+    }
+}
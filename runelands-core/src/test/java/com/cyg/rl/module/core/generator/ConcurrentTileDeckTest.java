@@ -0,0 +1,78 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.types.TileColor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe ConcurrentTileDeck
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ConcurrentTileDeckTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un seul lecteur obtient bien le même flux qu'un paquet local de même graine
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSingleReader_shouldDealSameStreamAsLocalDeck() {
+        ConcurrentTileDeck deck = new ConcurrentTileDeck(3, 21L);
+        DeckTileSource local = new DeckTileSource(3, 21L, 0L);
+        byte[] expected = new byte[100];
+        byte[] actual = new byte[100];
+        local.fill(expected, 0, 100);
+        for (int offset = 0; offset < 100; offset += 7) {
+            deck.fill(actual, offset, Math.min(7, 100 - offset));
+        }
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    /**
+     * Teste si des lecteurs concurrents se partagent bien exactement la composition des tours distribués
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConcurrentReaders_shouldDealExactComposition() throws InterruptedException {
+        ConcurrentTileDeck deck = new ConcurrentTileDeck(4, 3L);
+        AtomicLongArray counts = new AtomicLongArray(TileColor.count());
+        int threads = 8;
+        int batches = 5000;
+        int batch = 4;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                byte[] tiles = new byte[batch];
+                long[] local = new long[TileColor.count()];
+                for (int i = 0; i < batches; i++) {
+                    deck.fill(tiles, 0, batch);
+                    for (byte tile : tiles) {
+                        local[tile]++;
+                    }
+                }
+                for (int c = 0; c < local.length; c++) {
+                    counts.addAndGet(c, local[c]);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long total = (long) threads * batches * batch;
+        assertThat(total % deck.getSize()).isZero();
+        for (int c = 0; c < TileColor.count(); c++) {
+            assertThat(counts.get(c)).isEqualTo(total / TileColor.count());
+        }
+        assertThat(deck.getPosition()).isEqualTo(total);
+    }
+}
@@ -0,0 +1,206 @@
+package com.cyg.rl.module.core.generator;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur les sources de tuiles des quatre types de générateur
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileSourceTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si deux plateaux de même graine sont bien générés à l'identique
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSameSeed_shouldGenerateSameBoard() {
+        for (TileGeneratorType type : new TileGeneratorType[] { TileGeneratorType.LOCAL_RANDOM, TileGeneratorType.LOCAL_DECK }) {
+            TileGenerator generator = TileGenerator.builder().type(type).build();
+            TileBoard first = TileBoard.builder().generator(generator).seed(12L).width(8).height(8).build().generate();
+            TileBoard second = TileBoard.builder().generator(generator).seed(12L).width(8).height(8).build().generate();
+            TileBoard other = TileBoard.builder().generator(generator).seed(13L).width(8).height(8).build().generate();
+            assertThat(second).isEqualTo(first);
+            assertThat(other).isNotEqualTo(first);
+        }
+    }
+
+    /**
+     * Teste si chaque tour de paquet distribue exactement la composition du paquet
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDeckDrawn_shouldDealExactComposition() {
+        DeckTileSource source = new DeckTileSource(5, 99L, 0L);
+        byte[] tiles = new byte[20 * 3];
+        source.fill(tiles, 0, 7);
+        source.fill(tiles, 7, tiles.length - 7);
+        for (int round = 0; round < 3; round++) {
+            int[] counts = new int[TileColor.count()];
+            for (int i = round * 20; i < (round + 1) * 20; i++) {
+                counts[tiles[i]]++;
+            }
+            assertThat(counts).containsOnly(5);
+        }
+    }
+
+    /**
+     * Teste si une source locale recréée depuis son état reprend bien le même flux
+     * @since 0.0.1
+     */
+    @Test
+    public void whenReopenedFromData_shouldContinueSameStream() {
+        for (TileGeneratorType type : new TileGeneratorType[] { TileGeneratorType.LOCAL_RANDOM, TileGeneratorType.LOCAL_DECK }) {
+            TileGenerator generator = TileGenerator.of(type, 0L, 3);
+            TileSource source = generator.open(7L);
+            byte[] expected = new byte[50];
+            source.fill(expected, 0, 17);
+            TileSource reopened = generator.open(source instanceof DeckTileSource ?
+                    ((DeckTileSource) source).getData() : ((RandomTileSource) source).getData());
+            source.fill(expected, 17, 33);
+            byte[] actual = Arrays.copyOf(expected, 50);
+            reopened.fill(actual, 17, 33);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Teste si les types globaux partagent bien une même source entre plateaux
+     * @since 0.0.1
+     */
+    @Test
+    public void whenGlobalType_shouldShareSource() {
+        TileGenerator generator = TileGenerator.of(TileGeneratorType.GLOBAL_DECK, 5L, 1);
+        TileSource first = generator.open(1L);
+        assertThat(generator.open(2L)).isSameAs(first);
+        byte[] tiles = new byte[4];
+        first.fill(tiles, 0, 2);
+        generator.open(3L).fill(tiles, 2, 2);
+        Arrays.sort(tiles);
+        assertThat(tiles).containsExactly(0, 1, 2, 3);
+
+        SharedRandomTileSource random = (SharedRandomTileSource) TileGenerator.of(TileGeneratorType.GLOBAL_RANDOM, 5L, 0).open(0L);
+        random.fill(new byte[10], 0, 10);
+        assertThat(random.getPosition()).isEqualTo(10L);
+    }
+
+    /**
+     * Teste si un générateur contraint produit, pour chaque type, des plateaux sans alignement initial avec une
+     * répartition équilibrée des couleurs
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConstrained_shouldGenerateWithoutMatches() {
+        for (TileGeneratorType type : TileGeneratorType.values()) {
+            TileGenerator generator = TileGenerator.builder().type(type).seed(3L).deckCopies(2).constrained(true).build();
+            TileBoard board = TileBoard.builder().generator(generator).width(8).height(8).build();
+            CascadeResolver resolver = CascadeResolver.of(board);
+            int[] counts = new int[TileColor.count()];
+            for (long seed = 0; seed < 200; seed++) {
+                board.reset(generator, seed);
+                assertThat(resolver.resolve(board)).as("%s, graine %d", type, seed).isFalse();
+                for (TileColor color : TileColor.values()) {
+                    counts[color.ordinal()] += board.count(color);
+                }
+            }
+            for (int count : counts) {
+                assertThat(count).as("%s", type).isBetween(200 * 64 / 4 - 300, 200 * 64 / 4 + 300);
+            }
+        }
+        TileGenerator generator = TileGenerator.builder().constrained(true).build();
+        TileBoard first = TileBoard.builder().generator(generator).seed(4L).width(5).height(5).build().generate();
+        assertThat(TileBoard.builder().generator(generator).seed(4L).width(5).height(5).build().generate()).isEqualTo(first);
+    }
+
+    /**
+     * Teste si le tirage sélectif respecte les couleurs autorisées et reste identique au tirage libre lorsque
+     * toutes les couleurs sont autorisées
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDrawnWithMask_shouldOnlyReturnAllowedColors() {
+        RandomTileSource random = new RandomTileSource(21L, 0L);
+        byte[] expected = new byte[100];
+        new RandomTileSource(21L, 0L).fill(expected, 0, expected.length);
+        for (byte color : expected) {
+            assertThat(random.next(SelectiveTileSource.ALL_COLORS)).isEqualTo(color);
+        }
+        SharedRandomTileSource shared = new SharedRandomTileSource(21L);
+        for (int allowed = 1; allowed <= SelectiveTileSource.ALL_COLORS; allowed++) {
+            assertThat(allowed & 1 << random.next(allowed)).isNotZero();
+            assertThat(allowed & 1 << shared.next(allowed)).isNotZero();
+        }
+        assertThat(random.getPosition()).isEqualTo(100L + SelectiveTileSource.ALL_COLORS);
+        assertThat(catchThrowable(() -> random.next(0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Teste si la génération contrainte distribue les paquets dans l'ordre : la source d'origine n'est pas
+     * réordonnée (une source recréée depuis son état reprend le même flux) et chaque tour distribué finit
+     * exactement sur le plateau
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConstrainedFromDeck_shouldKeepStreamAndRoundBalance() {
+        DeckTileSource deck = new DeckTileSource(2, 5L, 0L);
+        PackedTileStorage storage = new PackedTileStorage(7, 9);
+        ConstrainedGeneration.generate(storage, deck);
+        TileSource reopened = TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 2).open(deck.getData());
+        byte[] expected = new byte[30];
+        byte[] actual = new byte[30];
+        deck.fill(expected, 0, expected.length);
+        reopened.fill(actual, 0, actual.length);
+        assertThat(actual).isEqualTo(expected);
+
+        DeckTileSource local = new DeckTileSource(2, 5L, 0L);
+        assertBalanced(local, local::getPosition, 8);
+        ConcurrentTileDeck global = new ConcurrentTileDeck(1, 8L);
+        assertBalanced(global, global::getPosition, 4);
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Génère plusieurs plateaux contraints depuis un paquet, puis vérifie qu'une fois les cartes en attente et le
+     * tour courant épuisés, les plateaux et les cartes tirées ensuite contiennent exactement autant de chaque
+     * couleur
+     * @param deck Paquet
+     * @param position Position du paquet
+     * @param size Taille d'un tour de paquet
+     */
+    private static void assertBalanced(TileSource deck, LongSupplier position, int size) {
+        int[] counts = new int[TileColor.count()];
+        TileSource source = deck;
+        for (int board = 0; board < 5; board++) {
+            PackedTileStorage storage = new PackedTileStorage(6, 5);
+            source = ConstrainedGeneration.generate(storage, source);
+            for (int y = 0; y < 5; y++) {
+                for (int x = 0; x < 6; x++) {
+                    counts[storage.get(x, y)]++;
+                }
+            }
+        }
+        long start = position.getAsLong();
+        byte[] card = new byte[1];
+        do {
+            source.fill(card, 0, 1);
+            counts[card[0]]++;
+        } while (position.getAsLong() == start || position.getAsLong() % size != 0);
+        assertThat(counts).containsOnly((int) (position.getAsLong() / TileColor.count()));
+    }
+}
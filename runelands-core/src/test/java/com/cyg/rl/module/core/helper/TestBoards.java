@@ -0,0 +1,62 @@
+package com.cyg.rl.module.core.helper;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+
+/**
+ * =================================================================================================================
+ * Helper de construction de plateaux pour les tests : une ligne de plateau s'écrit avec une lettre par couleur
+ * (B, R, Y, W) et '.' pour une case vide
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public abstract class TestBoards {
+
+    // Constantes internes
+    private static final String                     COLORS = "BRYW";
+
+    /**
+     * Constructeur privé
+     */
+    private TestBoards() {
+    }
+
+    // ------------ Méthodes statiques publiques ---------------
+    /**
+     * Construit un plateau à partir de lignes
+     * @param rows Lignes
+     * @return TileBoard
+     * @since 0.0.1
+     */
+    public static TileBoard board(String... rows) {
+        TileBoard board = TileBoard.of(null, new PackedTileStorage(rows[0].length(), rows.length));
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                board.set(x, y, (byte) COLORS.indexOf(rows[y].charAt(x)));
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Retourne les lignes d'un plateau
+     * @param board Plateau
+     * @return Lignes
+     * @since 0.0.1
+     */
+    public static String[] rows(TileBoard board) {
+        String[] result = new String[board.getHeight()];
+        for (int y = 0; y < board.getHeight(); y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < board.getWidth(); x++) {
+                byte color = board.get(x, y);
+                row.append(color == TileStorage.EMPTY ? '.' : COLORS.charAt(color));
+            }
+            result[y] = row.toString();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package com.cyg.rl.module.core.journal;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.effects.EffectPipeline;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.EffectTarget;
+import com.cyg.rl.module.core.types.EffectType;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur les classes MoveJournal et MatchReplay
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MoveJournalTest {
+
+    // Membres internes
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si une partie journalisée sur plusieurs segments est reconstruite à l'identique
+     * @throws Exception En cas d'erreur d'entrée/sortie
+     * @since 0.0.1
+     */
+    @Test
+    public void whenMatchJournaled_shouldReplaySameState() throws Exception {
+        Path directory = this.folder.getRoot().toPath().resolve("journal");
+        TileBoard board = TileBoard.of(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4), new PackedTileStorage(8, 8));
+        board.setSeed(99L);
+        Player[] players = { Player.of(30), Player.of(30) };
+        long last;
+        try (MoveJournal journal = new MoveJournal(directory, 256, 1024, TimeUnit.MILLISECONDS.toNanos(1L))) {
+            journal.appendStart(1L, board);
+            journal.appendStart(2L, board);
+            journal.appendPlayer(1L, 0, 30);
+            journal.appendPlayer(1L, 1, 30);
+            CascadeResolver resolver = CascadeResolver.of(board);
+            EffectPipeline pipeline = new EffectPipeline();
+            board.generate();
+            resolver.resolve(board);
+            int[] moves = new int[128];
+            int turn = 0;
+            while (players[0].getLife() > 0 && players[1].getLife() > 0) {
+                int count = Moves.find(board, moves);
+                if (count == 0) {
+                    journal.appendReshuffle(1L);
+                    board.generate();
+                    resolver.resolve(board);
+                    continue;
+                }
+                int current = turn++ & 1;
+                journal.appendMove(1L, current, moves[0]);
+                journal.appendMove(2L, current, moves[0]);
+                Moves.play(resolver, board, moves[0]);
+                journal.appendEffect(1L, current, EffectType.ATTACK, EffectTarget.OPPONENT, resolver.getMatchedTotal());
+                pipeline.add(EffectType.ATTACK, EffectTarget.OPPONENT, resolver.getMatchedTotal()).apply(players[current], players[current ^ 1]);
+            }
+            last = journal.appendFinish(1L, players[0].getLife() > 0 ? 0 : 1);
+            assertThat(last).isPositive();
+            assertThat(journal.awaitCommitted(last, 5L, TimeUnit.SECONDS)).isTrue();
+            assertThat(journal.getSegmentIndex()).isPositive();
+        }
+        MatchReplay replay = MatchReplay.of(directory, 1L);
+        assertThat(replay.isFinished()).isTrue();
+        assertThat(replay.getBoard()).isEqualTo(board);
+        assertThat(replay.getPlayers()).containsExactly(players);
+        assertThat(replay.getWinner()).isEqualTo(players[0].getLife() > 0 ? 0 : 1);
+        assertThat(JournalReader.read(directory, new JournalVisitor() { })).isEqualTo(last + 1);
+    }
+
+    /**
+     * Teste si une partie à générateur contraint est reconstruite avec le même plateau de départ
+     * @throws Exception En cas d'erreur d'entrée/sortie
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConstrainedMatchJournaled_shouldReplaySameBoard() throws Exception {
+        Path directory = this.folder.getRoot().toPath().resolve("constrained");
+        TileGenerator generator = TileGenerator.builder().type(TileGeneratorType.LOCAL_RANDOM).constrained(true).build();
+        TileBoard board = TileBoard.of(generator, new PackedTileStorage(8, 8));
+        board.setSeed(17L);
+        try (MoveJournal journal = MoveJournal.open(directory)) {
+            journal.appendStart(3L, board);
+            board.generate();
+            assertThat(journal.awaitCommitted(journal.appendFinish(3L, -1), 5L, TimeUnit.SECONDS)).isTrue();
+        }
+        MatchReplay replay = MatchReplay.of(directory, 3L);
+        assertThat(replay.getBoard().getGenerator().isConstrained()).isTrue();
+        assertThat(replay.getBoard().sameTiles(board)).isTrue();
+        assertThat(replay.getBoard()).isEqualTo(board);
+    }
+
+    /**
+     * Teste si un journal rouvert sur le même répertoire ajoute de nouveaux segments sans écraser les anciens
+     * @throws Exception En cas d'erreur d'entrée/sortie
+     * @since 0.0.1
+     */
+    @Test
+    public void whenReopened_shouldAppendNewSegments() throws Exception {
+        Path directory = this.folder.getRoot().toPath();
+        for (int i = 0; i < 2; i++) {
+            try (MoveJournal journal = MoveJournal.open(directory)) {
+                assertThat(journal.awaitCommitted(journal.appendFinish(i, -1), 5L, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(2L);
+        }
+        long[] finished = new long[2];
+        JournalReader.read(directory, new JournalVisitor() {
+            @Override
+            public void onEnd(long matchId, int winner) {
+                finished[(int) matchId] = winner;
+            }
+        });
+        assertThat(finished).containsExactly(-1L, -1L);
+    }
+
+    /**
+     * Teste si un enregistrement portant un ordinal d'effet inconnu est rejeté avec sa position
+     * @throws Exception En cas d'erreur d'entrée/sortie
+     * @since 0.0.1
+     */
+    @Test
+    public void whenEffectOrdinalCorrupt_shouldRejectSegment() throws Exception {
+        Path directory = this.folder.getRoot().toPath();
+        ByteBuffer segment = ByteBuffer.allocate(16);
+        segment.putInt(MoveJournal.MAGIC).put((byte) MoveJournal.EFFECT).put((byte) 1).put((byte) 0).put((byte) 0x7F).put((byte) 0);
+        Files.write(directory.resolve(MoveJournal.SEGMENT_PREFIX + "00000000" + MoveJournal.SEGMENT_SUFFIX), segment.array());
+        assertThatThrownBy(() -> JournalReader.read(directory, new JournalVisitor() {
+        })).isInstanceOf(IOException.class).hasMessageContaining("position 4");
+    }
+}
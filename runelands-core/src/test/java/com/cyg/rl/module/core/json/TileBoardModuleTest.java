@@ -0,0 +1,80 @@
+package com.cyg.rl.module.core.json;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import com.cyg.tools.jackson.JacksonConfigurer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static com.cyg.rl.module.core.helper.TestBoards.board;
+import static com.cyg.rl.module.core.helper.TestBoards.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe TileBoardModule
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardModuleTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un plateau est écrit une chaîne par ligne et relu à l'identique, bien plus court que l'ancien format
+     * @throws Exception En cas d'erreur JSON
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardSerialized_shouldWriteRowsAndReadBack() throws Exception {
+        ObjectMapper legacy = JacksonConfigurer.getInstance().createMapper();
+        ObjectMapper mapper = JacksonConfigurer.getInstance().createMapper().registerModule(new TileBoardModule());
+        TileBoard board = TileBoard.of(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 3L, 4), new PackedTileStorage(8, 8));
+        board.setSeed(42L);
+        board.generate();
+        board.set(2, 0, (byte) -1);
+        String json = mapper.writeValueAsString(board);
+        assertThat(json).contains("\"rows\":[\"" + rows(board)[0] + "\"");
+        assertThat(json.length() * 5).isLessThan(legacy.writeValueAsString(board).length());
+        TileBoard read = mapper.readValue(json, TileBoard.class);
+        assertThat(read).isEqualTo(board);
+        assertThat(read.getHash()).isEqualTo(board.getHash());
+        assertThat(mapper.readValue(legacy.writeValueAsString(board), TileBoard.class)).isEqualTo(board);
+    }
+
+    /**
+     * Teste si les lignes sont acceptées avant les dimensions, et si une ligne invalide est rejetée
+     * @throws Exception En cas d'erreur JSON
+     * @since 0.0.1
+     */
+    @Test
+    public void whenRowsFirstOrInvalid_shouldReadOrReject() throws Exception {
+        ObjectMapper mapper = JacksonConfigurer.getInstance().createMapper().registerModule(new TileBoardModule());
+        TileBoard read = mapper.readValue("{\"rows\":[\"BR.\",\"WYB\"],\"seed\":7}", TileBoard.class);
+        assertThat(rows(read)).containsExactly("BR.", "WYB");
+        assertThat(read.getSeed()).isEqualTo(7L);
+        assertThat(read.sameTiles(board("BR.", "WYB"))).isTrue();
+        assertThatThrownBy(() -> mapper.readValue("{\"width\":3,\"height\":2,\"rows\":[\"BRX\",\"WYB\"]}", TileBoard.class))
+                .isInstanceOf(JsonMappingException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"width\":3,\"height\":2,\"rows\":[\"BRY\"]}", TileBoard.class))
+                .isInstanceOf(JsonMappingException.class);
+    }
+
+    /**
+     * Teste si des dimensions démesurées ou un nombre de lignes incohérent sont rejetés avant allocation
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDimensionsInvalid_shouldRejectBeforeAllocating() {
+        ObjectMapper mapper = JacksonConfigurer.getInstance().createMapper().registerModule(new TileBoardModule());
+        assertThatThrownBy(() -> mapper.readValue("{\"width\":100000,\"height\":100000,\"rows\":[]}", TileBoard.class))
+                .isInstanceOf(JsonMappingException.class).hasMessageContaining("Dimensions");
+        assertThatThrownBy(() -> mapper.readValue("{\"rows\":[\"BR\",\"WY\"],\"height\":3}", TileBoard.class))
+                .isInstanceOf(JsonMappingException.class).hasMessageContaining("lignes");
+    }
+}
@@ -0,0 +1,208 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe ChunkedTileBoard
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class ChunkedTileBoardTest {
+
+    // Membres internes
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un tronçon évincé est regénéré à l'identique, et si deux plateaux de même graine coïncident
+     * @since 0.0.1
+     */
+    @Test
+    public void whenChunkEvicted_shouldRegenerateSameTiles() {
+        for (TileGeneratorType type : TileGeneratorType.values()) {
+            TileGenerator generator = TileGenerator.of(type, 7L, 0);
+            ChunkedTileBoard board = new ChunkedTileBoard(generator, 42L, 1_000_000L, 1_000_000L, 8, 2, null);
+            ChunkedTileBoard other = new ChunkedTileBoard(generator, 42L, 1_000_000L, 1_000_000L, 8, 2, null);
+            byte[] first = row(board, 500_000L);
+            row(board, 0L);
+            row(board, 900_000L);
+            assertThat(board.getEvicted()).isGreaterThan(0L);
+            assertThat(row(board, 500_000L)).isEqualTo(first);
+            assertThat(row(other, 500_000L)).isEqualTo(first);
+            assertThat(row(board, 0L)).isNotEqualTo(first);
+        }
+    }
+
+    /**
+     * Teste si le nombre de tronçons en mémoire reste borné quelle que soit la zone parcourue
+     * @since 0.0.1
+     */
+    @Test
+    public void whenExploring_shouldKeepChunksBounded() {
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 1L, 1L << 35, 1L << 35, 16, 4, null);
+        for (long i = 0; i < 100; i++) {
+            board.get(i * 1000, i * 7919);
+        }
+        assertThat(board.getGenerated()).isEqualTo(100L);
+        assertThat(board.getLoadedChunks()).isEqualTo(4);
+        assertThat(board.getEvicted()).isEqualTo(96L);
+    }
+
+    /**
+     * Teste si un tronçon modifié est écrit sur disque à l'éviction puis relu avec ses modifications
+     * @since 0.0.1
+     */
+    @Test
+    public void whenModifiedChunkEvicted_shouldSpillAndRestore() throws Exception {
+        Path directory = this.folder.getRoot().toPath().resolve("spill");
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 16, 1, directory);
+        byte color = (byte) ((board.get(5, 5) + 1) % 4);
+        board.set(5, 5, color);
+        board.get(4000, 4000);
+        assertThat(board.getSpilled()).isEqualTo(1L);
+        assertThat(board.getLoadedChunks()).isEqualTo(1);
+        assertThat(board.get(5, 5)).isEqualTo(color);
+        assertThat(board.getRestored()).isEqualTo(1L);
+    }
+
+    /**
+     * Teste si deux plateaux partageant un répertoire de débordement ne relisent pas les tronçons l'un de l'autre
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSpillDirectoryShared_shouldKeepBoardsApart() throws Exception {
+        Path directory = this.folder.getRoot().toPath().resolve("spill");
+        ChunkedTileBoard first = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 16, 1, directory);
+        first.set(5, 5, (byte) ((first.get(5, 5) + 1) % 4));
+        first.flush();
+        ChunkedTileBoard second = new ChunkedTileBoard(new TileGenerator(), 4L, 4096L, 4096L, 16, 1, directory);
+        ChunkedTileBoard resized = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 8, 1, directory);
+        second.get(5, 5);
+        resized.get(5, 5);
+        assertThat(second.getRestored()).isZero();
+        assertThat(resized.getRestored()).isZero();
+    }
+
+    /**
+     * Teste si un fichier de débordement de taille incohérente est rejeté
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSpillFileTruncated_shouldReject() throws Exception {
+        Path directory = this.folder.getRoot().toPath().resolve("spill");
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 16, 1, directory);
+        board.set(5, 5, (byte) ((board.get(5, 5) + 1) % 4));
+        board.flush();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path spill = files.findFirst().orElseThrow(IllegalStateException::new);
+            Files.write(spill, new byte[10]);
+        }
+        board.get(4000, 4000);
+        assertThat(catchThrowable(() -> board.get(5, 5))).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Teste si, sans répertoire de débordement, un tronçon modifié n'est jamais évincé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenNoSpillDirectory_shouldPinModifiedChunks() {
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 16, 1, null);
+        board.set(5, 5, (byte) -1);
+        board.get(4000, 4000);
+        board.get(2000, 2000);
+        assertThat(board.getLoadedChunks()).isEqualTo(2);
+        assertThat(board.get(5, 5)).isEqualTo((byte) -1);
+    }
+
+    /**
+     * Teste si un tronçon utilisé sans interruption reste le plus récent pour l'éviction
+     * @since 0.0.1
+     */
+    @Test
+    public void whenChunkReusedThroughCache_shouldStayMostRecent() {
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 3L, 4096L, 4096L, 16, 2, null);
+        board.get(0, 0);
+        board.get(100, 100);
+        for (int i = 0; i < 16; i++) {
+            board.get(i, 0);
+        }
+        board.get(200, 200);
+        long generated = board.getGenerated();
+        board.get(5, 5);
+        assertThat(board.getGenerated()).isEqualTo(generated);
+        board.get(100, 100);
+        assertThat(board.getGenerated()).isEqualTo(generated + 1);
+    }
+
+    /**
+     * Teste si un plateau dont les coordonnées de tronçon dépassent 32 bits est refusé, et si des tronçons de
+     * coordonnées éloignées restent distincts
+     * @since 0.0.1
+     */
+    @Test
+    public void whenChunkCoordinatesLarge_shouldKeepChunksDistinct() {
+        assertThat(catchThrowable(() -> new ChunkedTileBoard(new TileGenerator(), 1L, 16L, (1L << 32) + 1, 1, 4, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 1L, 2L, 1L << 32, 1, 4, null);
+        board.set(1L, 0L, (byte) -1);
+        board.set(0L, (1L << 32) - 1, (byte) 2);
+        assertThat(board.get(1L, 0L)).isEqualTo((byte) -1);
+        assertThat(board.get(0L, (1L << 32) - 1)).isEqualTo((byte) 2);
+    }
+
+    /**
+     * Teste si une fenêtre recopiée dans un plateau de jeu puis modifiée est bien réintégrée
+     * @since 0.0.1
+     */
+    @Test
+    public void whenWindowCopied_shouldRoundTrip() {
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 9L, 1000L, 1000L, 16, 8, null);
+        TileBoard window = board.copyTo(TileBoard.builder().width(6).height(5).build(), 13L, 29L);
+        assertThat(window.get(0, 0)).isEqualTo(board.get(13L, 29L));
+        assertThat(window.get(5, 4)).isEqualTo(board.get(18L, 33L));
+        window.set(2, 3, (byte) -1);
+        board.copyFrom(window, 13L, 29L);
+        assertThat(board.get(15L, 32L)).isEqualTo((byte) -1);
+    }
+
+    /**
+     * Teste si l'accès hors du plateau est refusé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenOutOfBounds_shouldThrow() {
+        ChunkedTileBoard board = new ChunkedTileBoard(new TileGenerator(), 9L, 100L, 100L);
+        assertThat(catchThrowable(() -> board.get(100L, 0L))).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(catchThrowable(() -> board.set(0L, -1L, (byte) 0))).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    // --------------------------------------- Méthodes privées ---------------------------------------------
+    /**
+     * Lit une ligne de 8 cases du plateau
+     * @param board Plateau
+     * @param y Ligne (et colonne de départ)
+     * @return byte[]
+     */
+    private static byte[] row(ChunkedTileBoard board, long y) {
+        byte[] row = new byte[8];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = board.get(y + i, y);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,229 @@
+package com.cyg.rl.module.core.models;
+
+import com.cyg.rl.module.core.board.TileStorage;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.types.TileColor;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import com.cyg.tools.jackson.JacksonConfigurer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe TileBoard
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si les tuiles passées au builder sont bien conservées dans le stockage compact
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBuiltFromTiles_shouldStoreColors() {
+        TileBoard board = TileBoard.builder().width(2).height(2).tiles(tiles()).build();
+        assertThat(board.getColor(0, 0)).isEqualTo(TileColor.BLUE);
+        assertThat(board.getColor(1, 0)).isEqualTo(TileColor.RED);
+        assertThat(board.getColor(0, 1)).isEqualTo(TileColor.YELLOW);
+        assertThat(board.get(1, 1)).isEqualTo(TileStorage.EMPTY);
+        assertThat(board.getTiles()).isEqualTo(tiles());
+    }
+
+    /**
+     * Teste si la modification d'une vue Tile modifie bien le plateau
+     * @since 0.0.1
+     */
+    @Test
+    public void whenTileViewModified_shouldUpdateBoard() {
+        TileBoard board = TileBoard.builder().width(2).height(2).tiles(tiles()).build();
+        board.getTiles()[1][1].setColor(TileColor.WHITE);
+        assertThat(board.getColor(1, 1)).isEqualTo(TileColor.WHITE);
+    }
+
+    /**
+     * Teste si un tableau de tuiles aux mauvaises dimensions est bien refusé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenTilesMismatchDimensions_shouldThrow() {
+        Throwable throwable = catchThrowable(() -> TileBoard.builder().width(3).height(2).tiles(tiles()).build());
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Teste si le plateau est bien conservé après un aller-retour JSON
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSerialized_shouldDeserializeToEqualBoard() throws Exception {
+        ObjectMapper mapper = JacksonConfigurer.getInstance().createMapper();
+        TileBoard board = TileBoard.builder().width(2).height(2).tiles(tiles()).build();
+        TileBoard result = mapper.readValue(mapper.writeValueAsString(board), TileBoard.class);
+        assertThat(result).isEqualTo(board);
+        assertThat(result.copy()).isEqualTo(board);
+    }
+
+    /**
+     * Teste si le hash maintenu au fil des modifications et des cascades reste égal au hash recalculé
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardModified_shouldKeepIncrementalHash() {
+        Random random = new Random(3);
+        TileBoard board = TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_RANDOM, 0L, 0))
+                .seed(5L).width(7).height(9).build().generate();
+        CascadeResolver resolver = CascadeResolver.of(board);
+        long empty = TileBoard.builder().width(7).height(9).build().getHash();
+        assertThat(board.getHash()).isNotEqualTo(empty);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(6);
+            int y = random.nextInt(9);
+            if (random.nextBoolean()) {
+                board.set(x, y, (byte) random.nextInt(TileColor.count()));
+            } else {
+                resolver.swap(board, x, y, x + 1, y);
+            }
+            long hash = board.getHash();
+            assertThat(board.rehash()).isEqualTo(hash);
+        }
+    }
+
+    /**
+     * Teste si les compteurs par couleur, ligne et colonne restent égaux à un recomptage complet
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardModified_shouldKeepIncrementalCounts() {
+        Random random = new Random(8);
+        TileBoard board = TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 0))
+                .seed(2L).width(6).height(7).build().generate();
+        CascadeResolver resolver = CascadeResolver.of(board);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(5);
+            int y = random.nextInt(7);
+            if (random.nextBoolean()) {
+                board.set(x, y, (byte) (random.nextInt(TileColor.count() + 1) - 1));
+            } else {
+                resolver.swap(board, x, y, x + 1, y);
+            }
+            assertThat(board.getCounts()).isEqualTo(TileBoard.of(null, board.getStorage().copy()).getCounts());
+        }
+        TileCounts snapshot = board.getCounts().snapshot();
+        int[] histogram = snapshot.histogram(new int[TileColor.count() + 1]);
+        int total = 0;
+        for (TileColor color : TileColor.values()) {
+            assertThat(histogram[color.ordinal()]).isEqualTo(board.count(color));
+            int rows = 0;
+            for (int y = 0; y < 7; y++) {
+                rows += board.countRow(y, color);
+            }
+            assertThat(rows).isEqualTo(board.count(color));
+            total += board.count(color);
+        }
+        assertThat(total + snapshot.getEmpty()).isEqualTo(6 * 7);
+        board.set(0, 0, board.get(0, 0) == 0 ? (byte) 1 : (byte) 0);
+        assertThat(snapshot).isNotEqualTo(board.getCounts());
+        assertThat(board.countColumn(0, null)).isEqualTo(board.getCounts().getColumn(0, null));
+    }
+
+    /**
+     * Teste si les compteurs par zone rectangulaire restent égaux à un parcours complet de la zone
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardModified_shouldKeepRegionCounts() {
+        Random random = new Random(13);
+        TileBoard board = TileBoard.builder().generator(TileGenerator.of(TileGeneratorType.LOCAL_RANDOM, 0L, 0))
+                .seed(5L).width(9).height(7).build().generate();
+        CascadeResolver resolver = CascadeResolver.of(board);
+        assertThat(board.getRegions()).isEqualTo(TileBoard.of(null, board.getStorage().copy()).getRegions());
+        for (int i = 0; i < 300; i++) {
+            int x = random.nextInt(8);
+            int y = random.nextInt(7);
+            if (random.nextBoolean()) {
+                board.set(x, y, (byte) (random.nextInt(TileColor.count() + 1) - 1));
+            } else {
+                resolver.swap(board, x, y, x + 1, y);
+            }
+            int left = random.nextInt(9);
+            int top = random.nextInt(7);
+            int width = random.nextInt(10 - left);
+            int height = random.nextInt(8 - top);
+            for (TileColor color : TileColor.values()) {
+                assertThat(board.countRegion(color, left, top, width, height)).isEqualTo(scan(board, color, left, top, width, height));
+            }
+            assertThat(board.countRegion(null, left, top, width, height)).isEqualTo(scan(board, null, left, top, width, height));
+        }
+        assertThat(board.getRegions()).isEqualTo(TileBoard.of(null, board.getStorage().copy()).getRegions());
+        int[] counts = board.getRegions().count(TileColor.YELLOW, new int[]{0, 0, 9, 7, 2, 3, 4, 2, 8, 6, 1, 1}, new int[3]);
+        assertThat(counts).containsExactly(board.count(TileColor.YELLOW), scan(board, TileColor.YELLOW, 2, 3, 4, 2),
+                scan(board, TileColor.YELLOW, 8, 6, 1, 1));
+        int[] histogram = board.getRegions().histogram(0, 0, 9, 7, new int[TileColor.count() + 1]);
+        assertThat(histogram).isEqualTo(board.getCounts().histogram(new int[TileColor.count() + 1]));
+        TileBoard copy = board.copy();
+        board.generate();
+        copy.copyFrom(board);
+        assertThat(copy.getRegions()).isEqualTo(board.getRegions());
+        assertThat(catchThrowable(() -> board.countRegion(TileColor.RED, 5, 0, 5, 1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Teste si l'égalité de plateaux s'appuie bien sur leur contenu
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSameTiles_shouldBeEqual() {
+        TileBoard board = TileBoard.builder().width(2).height(2).tiles(tiles()).build();
+        TileBoard copy = board.copy();
+        assertThat(copy).isEqualTo(board);
+        assertThat(copy.hashCode()).isEqualTo(board.hashCode());
+        copy.setColor(0, 0, TileColor.WHITE);
+        assertThat(copy).isNotEqualTo(board);
+        assertThat(copy.getHash()).isNotEqualTo(board.getHash());
+        copy.setColor(0, 0, TileColor.BLUE);
+        assertThat(copy.getHash()).isEqualTo(board.getHash());
+    }
+
+    // ---------------------------------------- Méthodes privées -----------------------------------
+    /**
+     * Retourne un jeu de tuiles 2x2 dont la dernière case est vide
+     * @return Tile[][]
+     */
+    private static Tile[][] tiles() {
+        return new Tile[][] {
+                { Tile.of(TileColor.BLUE), Tile.of(TileColor.RED) },
+                { Tile.of(TileColor.YELLOW), Tile.of(null) }
+        };
+    }
+
+    /**
+     * Compte les tuiles d'une couleur dans une zone en la parcourant entièrement
+     * @param board Plateau
+     * @param color Couleur (null pour les cases vides)
+     * @param left Colonne du coin haut gauche
+     * @param top Ligne du coin haut gauche
+     * @param width Largeur de la zone
+     * @param height Hauteur de la zone
+     * @return int
+     */
+    private static int scan(TileBoard board, TileColor color, int left, int top, int width, int height) {
+        int count = 0;
+        for (int y = top; y < top + height; y++) {
+            for (int x = left; x < left + width; x++) {
+                if (board.getColor(x, y) == color) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cyg.rl.module.core.registry;
+
+import com.cyg.rl.module.core.models.RuneModel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur les classes RuneModelRegistry et LongIntMap
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class RuneModelRegistryTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste les recherches sur des identifiants compacts puis dispersés
+     * @since 0.0.1
+     */
+    @Test
+    public void whenCatalogLoaded_shouldFindEveryModel() {
+        for (long stride : new long[] { 1L, 7_919_000_000L }) {
+            List<RuneModel> catalog = new ArrayList<>();
+            for (long i = 0; i < 5_000; i++) {
+                catalog.add(RuneModel.of(1_000L + i * stride));
+            }
+            RuneModelRegistry registry = RuneModelRegistry.of(catalog);
+            assertThat(registry.size()).isEqualTo(5_000);
+            for (int slot = 0; slot < catalog.size(); slot++) {
+                long id = catalog.get(slot).getId();
+                assertThat(registry.slot(id)).isEqualTo(slot);
+                assertThat(registry.find(id)).isSameAs(catalog.get(slot));
+                assertThat(registry.getId(slot)).isEqualTo(id);
+            }
+            assertThat(registry.slot(999L)).isEqualTo(RuneModelRegistry.MISSING);
+            assertThat(registry.find(-5L)).isNull();
+            assertThat(registry.find(Long.MAX_VALUE)).isNull();
+        }
+    }
+
+    /**
+     * Teste le rejet des identifiants absents ou en double
+     * @since 0.0.1
+     */
+    @Test
+    public void whenIdMissingOrDuplicated_shouldFail() {
+        assertThatThrownBy(() -> RuneModelRegistry.of(Arrays.asList(RuneModel.of(1L), new RuneModel())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RuneModelRegistry.of(Arrays.asList(RuneModel.of(1L), RuneModel.of(1L))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RuneModelRegistry.of(Arrays.asList(RuneModel.of(1L), RuneModel.of(1L << 40), RuneModel.of(1L << 40))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(RuneModelRegistry.of(new ArrayList<>()).find(0L)).isNull();
+    }
+
+    /**
+     * Teste la croissance de la table et le remplacement d'une valeur
+     * @since 0.0.1
+     */
+    @Test
+    public void whenMapGrows_shouldKeepEntries() {
+        LongIntMap map = new LongIntMap(1);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(map.put(i * 31L - 500L, i)).isEqualTo(LongIntMap.MISSING);
+        }
+        assertThat(map.put(-500L, 42)).isEqualTo(0);
+        assertThat(map.size()).isEqualTo(1_000);
+        assertThat(map.get(-500L)).isEqualTo(42);
+        assertThat(map.get(31L * 999 - 500L)).isEqualTo(999);
+        assertThat(map.get(1L)).isEqualTo(LongIntMap.MISSING);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe MatchSimulator
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class MatchSimulatorTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si une campagne donne le même résultat quel que soit le nombre de threads
+     * @since 0.0.1
+     */
+    @Test
+    public void whenRunOnSeveralThreads_shouldBeDeterministic() {
+        SimulationConfig config = SimulationConfig.builder().games(300L).seed(11L).initialLife(60).parallelism(1)
+                .opponentPolicy(MovePolicies.random()).build();
+        SimulationReport sequential = new MatchSimulator(config).run();
+        SimulationReport parallel = new MatchSimulator(config.toBuilder().parallelism(4).build()).run();
+        assertThat(parallel.getGames()).isEqualTo(300L);
+        assertThat(parallel.getPlayerWins()).isEqualTo(sequential.getPlayerWins());
+        assertThat(parallel.getDraws()).isEqualTo(sequential.getDraws());
+        assertThat(parallel.getTotalTurns()).isEqualTo(sequential.getTotalTurns());
+        assertThat(parallel.getMatchedTiles()).isEqualTo(sequential.getMatchedTiles());
+        assertThat(parallel.getLongestGame()).isEqualTo(sequential.getLongestGame());
+        assertThat(parallel.getGamesPerSecond()).isPositive();
+    }
+
+    /**
+     * Teste si le rejeu d'une partie redonne exactement son résultat
+     * @since 0.0.1
+     */
+    @Test
+    public void whenReplayed_shouldReproduceGame() {
+        SimulationConfig config = SimulationConfig.builder().games(50L).seed(5L).initialLife(40)
+                .generator(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4)).build();
+        MatchSimulator simulator = new MatchSimulator(config);
+        SimulationReport report = simulator.run();
+        GameRecord longest = simulator.replay(report.getLongestGame());
+        assertThat(longest.getTurns()).isEqualTo(report.getMaxTurns());
+        assertThat(simulator.replay(report.getLongestGame())).isEqualTo(longest);
+        assertThat(longest.getWinner() == GameRecord.DRAW || Math.min(longest.getPlayerLife(), longest.getOpponentLife()) <= 0).isTrue();
+    }
+}
@@ -0,0 +1,60 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.models.Player;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe PlayerStore
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class PlayerStoreTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste l'application d'un vecteur de dégâts et la recherche des joueurs morts
+     * @since 0.0.1
+     */
+    @Test
+    public void whenDamageApplied_shouldFindDeadPlayers() {
+        PlayerStore store = new PlayerStore(2);
+        assertThat(store.addAll(5, 10)).isEqualTo(0);
+        assertThat(store.add(Player.of(3))).isEqualTo(5);
+        store.applyDamage(new int[] { 0, 10, 9, 11, -5, 2 });
+        int[] dead = new int[store.size()];
+        assertThat(store.findDead(dead)).isEqualTo(2);
+        assertThat(dead[0]).isEqualTo(1);
+        assertThat(dead[1]).isEqualTo(3);
+        assertThat(store.countDead()).isEqualTo(2);
+        assertThat(store.isDead(2)).isFalse();
+        store.applyDamage(1);
+        assertThat(store.countDead()).isEqualTo(4);
+        assertThat(store.toPlayer(4)).isEqualTo(Player.of(14));
+    }
+
+    /**
+     * Teste les conversions avec le modèle Player et les contrôles de bornes
+     * @since 0.0.1
+     */
+    @Test
+    public void whenConverted_shouldKeepLife() {
+        PlayerStore store = new PlayerStore(0);
+        int index = store.add(7);
+        store.set(index, Player.of(-2));
+        Player player = new Player();
+        assertThat(store.toPlayer(index, player)).isSameAs(player);
+        assertThat(player.getLife()).isEqualTo(-2);
+        store.resetLife(20);
+        assertThat(store.getLife(index)).isEqualTo(20);
+        assertThatThrownBy(() -> store.getLife(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> store.applyDamage(new int[0])).isInstanceOf(IndexOutOfBoundsException.class);
+        store.clear();
+        assertThat(store.size()).isZero();
+    }
+}
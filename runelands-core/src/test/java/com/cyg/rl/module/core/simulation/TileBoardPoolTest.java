@@ -0,0 +1,68 @@
+package com.cyg.rl.module.core.simulation;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur la classe TileBoardPool
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class TileBoardPoolTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un plateau libéré est réutilisé et regénéré comme un plateau neuf
+     * @since 0.0.1
+     */
+    @Test
+    public void whenBoardReleased_shouldReuseAndRegenerate() {
+        TileGenerator generator = TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4);
+        TileBoard expected = TileBoard.of(generator, new PackedTileStorage(6, 5));
+        expected.setSeed(8L);
+        expected.generate();
+        TileBoardPool pool = new TileBoardPool(1);
+        TileBoard first = pool.acquire(generator, 6, 5, 3L);
+        pool.release(first);
+        TileBoard second = pool.acquire(generator, 6, 5, 8L);
+        assertThat(second).isSameAs(first).isEqualTo(expected);
+        assertThat(second.getCounts()).isEqualTo(expected.getCounts());
+        assertThat(pool.acquire(generator, 5, 6, 8L)).isNotSameAs(first);
+        assertThat(pool.getHits()).isEqualTo(1L);
+        assertThat(pool.getMisses()).isEqualTo(2L);
+        assertThat(pool.getHitRate()).isEqualTo(1.0 / 3.0);
+    }
+
+    /**
+     * Teste si la réserve est bornée et propre à chaque thread
+     * @throws Exception En cas d'interruption
+     * @since 0.0.1
+     */
+    @Test
+    public void whenPoolFullOrOtherThread_shouldNotShareBoards() throws Exception {
+        TileGenerator generator = new TileGenerator();
+        TileBoardPool pool = new TileBoardPool(1);
+        TileBoard first = pool.acquire(generator, 4, 4, 1L);
+        TileBoard second = pool.acquire(generator, 4, 4, 2L);
+        pool.release(first);
+        pool.release(second);
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(pool.getDiscards()).isEqualTo(1L);
+        AtomicReference<TileBoard> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(pool.acquire(generator, 4, 4, 1L)));
+        thread.start();
+        thread.join();
+        assertThat(other.get()).isNotSameAs(first);
+        assertThat(pool.acquire(generator, 4, 4, 1L)).isSameAs(first);
+    }
+}
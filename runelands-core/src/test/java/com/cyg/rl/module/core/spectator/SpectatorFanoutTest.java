@@ -0,0 +1,101 @@
+package com.cyg.rl.module.core.spectator;
+
+import com.cyg.rl.module.core.board.PackedTileStorage;
+import com.cyg.rl.module.core.engine.CascadeResolver;
+import com.cyg.rl.module.core.engine.Moves;
+import com.cyg.rl.module.core.models.Player;
+import com.cyg.rl.module.core.models.TileBoard;
+import com.cyg.rl.module.core.models.TileGenerator;
+import com.cyg.rl.module.core.types.TileGeneratorType;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * =================================================================================================================
+ * Tests unitaires sur les classes SpectatorFanout et Subscription
+ *
+ * @author Cyril Chevalier
+ * @since 0.0.1
+ * =================================================================================================================
+ */
+public class SpectatorFanoutTest {
+
+    // ------------------------------------------- Tests -------------------------------------------
+    /**
+     * Teste si un spectateur rapide suit la partie et si un spectateur lent décroche puis se resynchronise
+     * @since 0.0.1
+     */
+    @Test
+    public void whenSpectatorIsSlow_shouldDropThenResync() {
+        TileBoard board = TileBoard.of(TileGenerator.of(TileGeneratorType.LOCAL_DECK, 0L, 4), new PackedTileStorage(8, 8));
+        board.setSeed(3L);
+        CascadeResolver resolver = CascadeResolver.of(board);
+        resolver.resolve(board.generate());
+        TileBoard previous = board.copy();
+        Player[] players = { Player.of(50), Player.of(50) };
+        SpectatorFanout fanout = new SpectatorFanout(4);
+        Subscription fast = fanout.subscribe();
+        Subscription slow = fanout.subscribe();
+        TileBoard fastBoard = TileBoard.of(null, new PackedTileStorage(8, 8));
+        Player[] fastPlayers = { new Player(), new Player() };
+        assertThat(fanout.publishDelta(previous, board, players)).isZero();
+        assertThat(fanout.publishSnapshot(board, players)).isEqualTo(2);
+        int[] moves = new int[128];
+        for (int turn = 0; turn < 10; turn++) {
+            ByteBuffer message = fast.poll();
+            assertThat(message.isReadOnly()).isTrue();
+            SpectatorFanout.read(message, fastBoard, fastPlayers);
+            assertThat(fastBoard.sameTiles(board)).isTrue();
+            assertThat(fastPlayers).containsExactly(players);
+            Moves.play(resolver, board, moves[Moves.find(board, moves) - 1]);
+            players[turn & 1].setLife(players[turn & 1].getLife() - resolver.getMatchedTotal());
+            fanout.publishDelta(previous, board, players);
+            previous.copyFrom(board);
+        }
+        assertThat(slow.size()).isEqualTo(4);
+        assertThat(slow.getDropped()).isPositive();
+        assertThat(slow.isNeedsSnapshot()).isTrue();
+        assertThat(fanout.isSnapshotNeeded()).isTrue();
+        while (slow.poll() != null) {
+            assertThat(slow.size()).isLessThan(4);
+        }
+        fast.poll();
+        fanout.publishSnapshot(board, players);
+        ByteBuffer slowMessage = slow.poll();
+        ByteBuffer fastMessage = fast.poll();
+        TileBoard slowBoard = TileBoard.of(null, new PackedTileStorage(8, 8));
+        Player[] slowPlayers = { new Player(), new Player() };
+        assertThat(SpectatorFanout.read(slowMessage, slowBoard, slowPlayers)).isEqualTo(SpectatorFanout.SNAPSHOT);
+        assertThat(fastMessage.position()).isZero();
+        assertThat(slowBoard.sameTiles(board)).isTrue();
+        assertThat(slowPlayers).containsExactly(players);
+        slow.close();
+        assertThat(fanout.getSubscriberCount()).isEqualTo(1);
+    }
+
+    /**
+     * Teste si un delta de modifications éparses (une case sur cinq) est publié et relu sans débordement
+     * @since 0.0.1
+     */
+    @Test
+    public void whenChangesScattered_shouldPublishDelta() {
+        TileBoard previous = TileBoard.of(null, new PackedTileStorage(100, 100));
+        TileBoard board = previous.copy();
+        for (int index = 0; index < 100 * 100; index += 5) {
+            board.set(index % 100, index / 100, (byte) (index % 4));
+        }
+        Player[] players = { Player.of(50), Player.of(50) };
+        SpectatorFanout fanout = new SpectatorFanout(4);
+        Subscription subscription = fanout.subscribe();
+        TileBoard spectatorBoard = TileBoard.of(null, new PackedTileStorage(100, 100));
+        Player[] spectatorPlayers = { new Player(), new Player() };
+        fanout.publishSnapshot(previous, players);
+        SpectatorFanout.read(subscription.poll(), spectatorBoard, spectatorPlayers);
+        fanout.publishDelta(previous, board, players);
+        assertThat(SpectatorFanout.read(subscription.poll(), spectatorBoard, spectatorPlayers)).isEqualTo(SpectatorFanout.DELTA);
+        assertThat(spectatorBoard.sameTiles(board)).isTrue();
+    }
+}